@@ -1,9 +1,26 @@
 package com.debopam.example.ai.basics;
 
+import com.debopam.example.ai.conversion.ColumnMoments;
+import com.debopam.example.ai.conversion.ConversionPlan;
+import com.debopam.example.ai.conversion.MaskedMatrix;
+import com.debopam.example.ai.conversion.Nd4jSmileConverter;
+import com.debopam.example.ai.conversion.Nd4jTablesawConverter;
+import com.debopam.example.ai.conversion.NominalDictionaryRegistry;
+import com.debopam.example.ai.conversion.OffHeapColumnStore;
+import com.debopam.example.ai.conversion.SmileTablesawConverter;
+import com.debopam.example.ai.conversion.SparseFeatureMatrix;
+import com.debopam.example.ai.conversion.StandardScaler;
+import com.debopam.example.ai.conversion.Standardization;
+import com.debopam.example.ai.conversion.TableBatchIterator;
+import com.debopam.example.ai.conversion.TablesawNd4jConverter;
+import com.debopam.example.ai.conversion.TablesawSmileConverter;
+import com.debopam.example.ai.conversion.ValidityMask;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.factory.Nd4j;
-import smile.data.vector.ValueVector;
 import smile.data.DataFrame;
+import smile.math.matrix.SparseMatrix;
+import smile.util.SparseArray;
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.IntColumn;
 import tech.tablesaw.api.StringColumn;
@@ -20,6 +37,14 @@ import java.util.Arrays;
  * - Convert Tablesaw → ND4j INDArray
  * - Convert ND4j → Smile DataFrame
  * - Understand when to use each format
+ * - Share one off-heap copy between Tablesaw and ND4j
+ * - Stream a table to ND4j in fixed-size batches
+ * - Keep category codes stable across batches
+ * - Store mostly-zero features sparsely
+ * - Reuse one conversion plan for many same-shaped batches
+ * - Fit scaling statistics once and reuse them at serving time
+ * - Bring Smile and ND4j results back into Tablesaw
+ * - Keep track of missing values after conversion
  */
 public class DataConversion {
 
@@ -30,6 +55,14 @@ public class DataConversion {
         example2_TablesawToND4j();
         example3_ND4jToSmile();
         example4_RoundTrip();
+        example5_SharedOffHeapStore();
+        example6_StreamingBatches();
+        example7_StableNominalCodes();
+        example8_SparseFeatures();
+        example9_ConversionPlan();
+        example10_IncrementalScaler();
+        example11_BackToTablesaw();
+        example12_MissingValues();
     }
 
     /**
@@ -63,32 +96,12 @@ public class DataConversion {
 
     /**
      * Helper method: Tablesaw → Smile
+     *
+     * Delegates to the full converter: numeric, boolean, date/time and string
+     * columns are all mapped, with missing values carried as a mask.
      */
     private static DataFrame tablesawToSmile(Table table) {
-        int rows = table.rowCount();
-        int cols = table.columnCount();
-
-        ValueVector[] vectors = new ValueVector[cols];
-
-        for (int j = 0; j < cols; j++) {
-            Column<?> col = table.column(j);
-            String colName = col.name();
-
-            if (col instanceof DoubleColumn) {
-                double[] data = ((DoubleColumn) col).asDoubleArray();
-                vectors[j] = ValueVector.of(colName, data);
-
-            } else if (col instanceof IntColumn) {
-                int[] data = ((IntColumn) col).asIntArray();
-                vectors[j] = ValueVector.of(colName, data);
-
-            } else if (col instanceof StringColumn) {
-                String[] data = ((StringColumn) col).asObjectArray();
-                vectors[j] = ValueVector.nominal(colName, data);
-            }
-        }
-
-        return new DataFrame(vectors);
+        return TablesawSmileConverter.toDataFrame(table);
     }
 
     /**
@@ -122,26 +135,12 @@ public class DataConversion {
 
     /**
      * Helper method: Tablesaw → ND4j
+     *
+     * Delegates to the bulk converter: column types are resolved once and
+     * values are copied column by column into a native 'f' order buffer.
      */
     private static INDArray tablesawToND4j(Table table) {
-        int rows = table.rowCount();
-        int cols = table.columnCount();
-
-        double[][] data = new double[rows][cols];
-
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                // Extract numeric value from column
-                Column<?> col = table.column(j);
-                if (col instanceof DoubleColumn) {
-                    data[i][j] = ((DoubleColumn) col).get(i);
-                } else if (col instanceof IntColumn) {
-                    data[i][j] = ((IntColumn) col).get(i);
-                }
-            }
-        }
-
-        return Nd4j.create(data);
+        return TablesawNd4jConverter.toMatrix(table);
     }
 
     /**
@@ -173,22 +172,12 @@ public class DataConversion {
 
     /**
      * Helper method: ND4j → Smile
+     *
+     * Delegates to the bulk converter: each column is read from a column-major
+     * copy with one native read instead of a getDouble(i, j) call per element.
      */
     private static DataFrame nd4jToSmile(INDArray array, String[] colNames) {
-        int rows = (int) array.rows();
-        int cols = (int) array.columns();
-
-        ValueVector[] vectors = new ValueVector[cols];
-
-        for (int j = 0; j < cols; j++) {
-            double[] column = new double[rows];
-            for (int i = 0; i < rows; i++) {
-                column[i] = array.getDouble(i, j);
-            }
-            vectors[j] = ValueVector.of(colNames[j], column);
-        }
-
-        return new DataFrame(vectors);
+        return Nd4jSmileConverter.toDataFrame(array, colNames);
     }
 
     /**
@@ -215,9 +204,12 @@ public class DataConversion {
         System.out.println("\nStep 2: Convert to ND4j for transformation");
         INDArray ndArray = tablesawToND4j(original);
 
-        // Normalize: (x - mean) / std
-        INDArray normalized = ndArray.subRowVector(ndArray.mean(0))
-                .divRowVector(ndArray.std(0));
+        // Normalize: (x - mean) / std, same result as
+        // ndArray.subRowVector(ndArray.mean(0)).divRowVector(ndArray.std(0))
+        // but in one statistics pass and without full-size temporaries
+        ColumnMoments[] moments = Standardization.standardizeInPlace(ndArray);
+        INDArray normalized = ndArray;
+        System.out.println("Means: " + moments[0].mean() + ", " + moments[1].mean());
         System.out.println("Normalized:");
         System.out.println(normalized);
 
@@ -230,4 +222,264 @@ public class DataConversion {
         System.out.println("\n✓ Ready for Smile ML algorithms!");
         System.out.println();
     }
+
+    /**
+     * Example 5: One off-heap copy shared by Tablesaw and ND4j
+     *
+     * Problem: every hop in Example 4 copies the data again
+     * Solution: keep the values once in native memory and give each library a view
+     * - store.matrix() is the ND4j array itself
+     * - store.asTable() returns Tablesaw columns reading the same memory
+     */
+    private static void example5_SharedOffHeapStore() {
+        System.out.println("--- Example 5: Shared Off-Heap Store ---");
+
+        Table original = Table.create("raw_data")
+                .addColumns(
+                        DoubleColumn.create("height", new double[]{170, 165, 180, 175}),
+                        DoubleColumn.create("weight", new double[]{70, 60, 80, 75})
+                );
+
+        // The only copy: Tablesaw heap → native 'f' order buffer
+        OffHeapColumnStore store = OffHeapColumnStore.from(original);
+
+        // Normalize in place (subi/divi write into the store, no new matrix)
+        INDArray matrix = store.matrix();
+        INDArray mean = matrix.mean(0);
+        INDArray std = matrix.std(0);
+        matrix.subiRowVector(mean).diviRowVector(std);
+
+        // Tablesaw sees the normalized values without any copy back
+        Table normalizedView = store.asTable("normalized_view");
+        System.out.println("Tablesaw view of the normalized ND4j matrix:");
+        System.out.println(normalizedView);
+        System.out.println("Mean of height (via Tablesaw): " + normalizedView.doubleColumn("height").mean());
+        System.out.println();
+    }
+
+    /**
+     * Example 6: Streaming mini-batches instead of one big matrix
+     *
+     * When: the table is too large to hold a second, dense copy in native memory
+     * How: TableBatchIterator refills a few reused batch buffers
+     * - The batch returned by next() is overwritten by the following next()
+     * - prefetch > 0 prepares batches on a background thread
+     */
+    private static void example6_StreamingBatches() {
+        System.out.println("--- Example 6: Streaming Batches ---");
+
+        Table data = Table.create("training")
+                .addColumns(
+                        DoubleColumn.create("x1", new double[]{1, 2, 3, 4, 5, 6, 7}),
+                        DoubleColumn.create("x2", new double[]{10, 20, 30, 40, 50, 60, 70}),
+                        IntColumn.create("label", new int[]{0, 1, 0, 1, 0, 1, 0})
+                );
+
+        // Batches of 3 rows, 1 batch prefetched, "label" split out as labels
+        try (TableBatchIterator batches = new TableBatchIterator(data, 3, 1, "label")) {
+            int batchNumber = 0;
+            while (batches.hasNext()) {
+                DataSet batch = batches.next();
+                System.out.println("Batch " + (++batchNumber) + ": features "
+                        + Arrays.toString(batch.getFeatures().shape())
+                        + ", label sum " + batch.getLabels().sumNumber());
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Example 7: Stable category codes across batches
+     *
+     * Problem: each batch gets its own sorted levels, so a code can mean
+     * "HR" in one batch and "Sales" in the next
+     * Solution: share a NominalDictionaryRegistry between conversions
+     */
+    private static void example7_StableNominalCodes() {
+        System.out.println("--- Example 7: Stable Nominal Codes ---");
+
+        NominalDictionaryRegistry registry = new NominalDictionaryRegistry();
+
+        Table batch1 = Table.create("hour1")
+                .addColumns(StringColumn.create("department",
+                        new String[]{"Sales", "HR", "Sales"}));
+        Table batch2 = Table.create("hour2")
+                .addColumns(StringColumn.create("department",
+                        new String[]{"Engineering", "Sales", "Engineering"}));
+
+        DataFrame df1 = TablesawSmileConverter.toDataFrame(batch1, registry);
+        DataFrame df2 = TablesawSmileConverter.toDataFrame(batch2, registry);
+
+        System.out.println("Batch 1 codes: " + Arrays.toString(df1.column("department").toIntArray()));
+        System.out.println("Batch 2 codes: " + Arrays.toString(df2.column("department").toIntArray()));
+        System.out.println("Levels: " + Arrays.toString(registry.dictionary("department").levels()));
+        System.out.printf("Dictionary hit rate: %.2f%n", registry.hitRate());
+        System.out.println();
+    }
+
+    /**
+     * Example 8: Sparse features
+     *
+     * When: one-hot or count features where most values are zero
+     * Why: only the non-zeros are stored and scaled
+     * - scaleByMaxAbs() keeps zeros at zero (no centering)
+     * - toSmileMatrix() is a Smile SparseMatrix; toSparseArrays() gives rows
+     */
+    private static void example8_SparseFeatures() {
+        System.out.println("--- Example 8: Sparse Features ---");
+
+        Table counts = Table.create("word_counts")
+                .addColumns(
+                        DoubleColumn.create("java", new double[]{3, 0, 0, 0, 1, 0}),
+                        DoubleColumn.create("python", new double[]{0, 0, 2, 0, 0, 0}),
+                        DoubleColumn.create("scala", new double[]{0, 0, 0, 0, 0, 4}),
+                        DoubleColumn.create("rust", new double[]{0, 1, 0, 0, 0, 0})
+                );
+
+        System.out.println("Sparse form pays off: " + SparseFeatureMatrix.paysOff(counts));
+
+        SparseFeatureMatrix sparse = SparseFeatureMatrix.from(counts);
+        System.out.printf("Non-zeros: %d of %d (density %.2f)%n",
+                sparse.nonZeroCount(), counts.rowCount() * counts.columnCount(), sparse.density());
+
+        System.out.println("Max-abs scales: " + Arrays.toString(sparse.scaleByMaxAbs()));
+
+        SparseMatrix smileMatrix = sparse.toSmileMatrix();
+        System.out.println("Smile SparseMatrix: " + smileMatrix.nrow() + " x " + smileMatrix.ncol()
+                + ", java[4] = " + smileMatrix.get(4, 0));
+
+        SparseArray[] rows = sparse.toSparseArrays();
+        System.out.println("Row 0 as SparseArray: " + rows[0]);
+        System.out.println();
+    }
+
+    /**
+     * Example 9: Conversion plan for repeated batches
+     *
+     * When: the same schema arrives again and again (streaming, mini-batches)
+     * Why: column types are resolved once per schema, not once per batch
+     * - ConversionPlan.of() looks the plan up by schema fingerprint
+     * - A batch with a different schema gets (and caches) its own plan
+     */
+    private static void example9_ConversionPlan() {
+        System.out.println("--- Example 9: Conversion Plan ---");
+
+        Table data = Table.create("sensor")
+                .addColumns(
+                        DoubleColumn.create("temperature", new double[]{21.5, 22.0, 22.4, 23.1, 22.8, 21.9}),
+                        IntColumn.create("humidity", new int[]{40, 42, 45, 47, 44, 41})
+                );
+
+        for (int from = 0; from < data.rowCount(); from += 2) {
+            Table batch = data.inRange(from, from + 2);
+            ConversionPlan plan = ConversionPlan.of(batch);
+            INDArray features = plan.toMatrix(batch);
+            System.out.println("Batch at row " + from + ": " + features.toString().replace("\n", " "));
+        }
+        System.out.println("Plans compiled for this schema: " + ConversionPlan.cachedPlanCount());
+        System.out.println();
+    }
+
+    /**
+     * Example 10: Incremental scaler shared by training and serving
+     *
+     * Problem: Example 4 standardizes with the statistics of the data at
+     * hand, so new data would be scaled differently from the training data
+     * Solution: fit a StandardScaler batch by batch, save it, apply it later
+     * - Scalers fitted on separate partitions can be merged
+     * - The saved state is a few bytes per column
+     */
+    private static void example10_IncrementalScaler() {
+        System.out.println("--- Example 10: Incremental Scaler ---");
+
+        Table partition1 = Table.create("train_1")
+                .addColumns(
+                        DoubleColumn.create("height", new double[]{170, 165}),
+                        DoubleColumn.create("weight", new double[]{70, 60})
+                );
+        Table partition2 = Table.create("train_2")
+                .addColumns(
+                        DoubleColumn.create("height", new double[]{180, 175}),
+                        DoubleColumn.create("weight", new double[]{80, 75})
+                );
+
+        // Each partition fitted separately (e.g. on different threads), then merged
+        StandardScaler scaler = new StandardScaler("height", "weight").partialFit(partition1);
+        StandardScaler other = new StandardScaler("height", "weight").partialFit(partition2);
+        scaler.merge(other);
+        System.out.println("Fitted: " + scaler);
+
+        byte[] saved = scaler.toBytes();
+        System.out.println("Saved state: " + saved.length + " bytes");
+
+        // Serving time: same statistics, new data, no access to the training set
+        StandardScaler serving = StandardScaler.fromBytes(saved);
+        INDArray incoming = Nd4j.create(new double[][]{{172, 68}, {190, 95}});
+        System.out.println("Scaled incoming rows:");
+        System.out.println(serving.transform(incoming));
+        System.out.println();
+    }
+
+    /**
+     * Example 11: Back to Tablesaw for reporting
+     *
+     * When: model output (Smile or ND4j) needs Tablesaw's summaries and joins
+     * Why: bulk column builds, no hand-written row loops
+     * - Nominal Smile columns come back as StringColumns of level names
+     * - Smile nulls become Tablesaw missing values
+     */
+    private static void example11_BackToTablesaw() {
+        System.out.println("--- Example 11: Back to Tablesaw ---");
+
+        Table original = Table.create("employees")
+                .addColumns(
+                        StringColumn.create("department", new String[]{"Sales", "HR", "Sales", "IT"}),
+                        DoubleColumn.create("salary", new double[]{50000, 45000, 52000, 61000})
+                );
+
+        DataFrame smileDf = TablesawSmileConverter.toDataFrame(original);
+        Table fromSmile = SmileTablesawConverter.toTable(smileDf, "from_smile");
+        System.out.println(fromSmile);
+        System.out.println("Department column type: " + fromSmile.column("department").type());
+
+        INDArray predictions = Nd4j.create(new double[][]{{0.91, 0.09}, {0.20, 0.80}, {0.75, 0.25}, {0.40, 0.60}});
+        Table scores = Nd4jTablesawConverter.toTable(predictions, new String[]{"p_stay", "p_leave"}, "scores");
+        Table report = original.copy().addColumns(scores.columns().toArray(new Column<?>[0]));
+        System.out.println(report);
+        System.out.println();
+    }
+
+    /**
+     * Example 12: Missing values survive the conversion
+     *
+     * Problem: in an INDArray a missing value is just NaN, and Smile only
+     * knows about nulls if someone tells it
+     * Solution: collect a ValidityMask (one bit per cell) while converting
+     * - Smile gets real null masks (isNullAt, getNullCount)
+     * - ND4j code can drop incomplete rows or zero out missing cells
+     */
+    private static void example12_MissingValues() {
+        System.out.println("--- Example 12: Missing Values Across Libraries ---");
+
+        DoubleColumn age = DoubleColumn.create("age", new double[]{25, 32, 41, 29});
+        age.setMissing(1);
+        IntColumn visits = IntColumn.create("visits", new int[]{3, 7, 1, 4});
+        visits.setMissing(3);
+        Table table = Table.create("customers").addColumns(age, visits);
+        System.out.println("Tablesaw missing counts: age=" + age.countMissing()
+                + ", visits=" + visits.countMissing());
+
+        MaskedMatrix data = TablesawNd4jConverter.toMaskedMatrix(table);
+        ValidityMask mask = data.mask();
+        System.out.println(mask + ", " + mask.memoryBytes() + " bytes of bitmap");
+
+        DataFrame smileDf = data.toDataFrame();
+        System.out.println("Smile null counts: age=" + smileDf.column("age").getNullCount()
+                + ", visits=" + smileDf.column("visits").getNullCount());
+
+        int[] complete = mask.completeRows();
+        System.out.println("Complete rows: " + Arrays.toString(complete));
+        System.out.println(data.matrix().getRows(complete));
+        System.out.println();
+    }
 }
@@ -1,10 +1,17 @@
 package com.debopam.example.ai.basics;
 
+import com.debopam.example.ai.conversion.TableSnapshot;
+import com.debopam.example.ai.io.CsvBatchReader;
+import com.debopam.example.ai.io.CsvSchema;
+import com.debopam.example.ai.io.MappedCsvReader;
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.io.csv.CsvReadOptions;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * LEVEL 1: Loading Data from Files
  * <p>
@@ -13,6 +20,9 @@ import tech.tablesaw.io.csv.CsvReadOptions;
  * - Handle missing values
  * - Inspect data after loading
  * - Understand common loading issues
+ * - Load large numeric CSVs without a String per cell
+ * - Process files larger than memory in fixed-size batches
+ * - Save a parsed table as a snapshot and reopen it without parsing
  */
 public class DataLoading {
 
@@ -25,6 +35,9 @@ public class DataLoading {
         example1_BasicCSVLoading();
         example2_ConfiguredLoading();
         example3_DataInspection();
+        example4_MappedLoading();
+        example5_StreamingBatches();
+        example6_Snapshot();
     }
 
     /**
@@ -92,16 +105,19 @@ public class DataLoading {
         System.out.println("--- Example 2: Configured Loading ---");
 
         try {
-            CsvReadOptions options = CsvReadOptions.builder("iris_sample.csv")
+            CsvReadOptions.Builder options = CsvReadOptions.builder("iris_sample.csv")
                     .separator(',')                    // Field separator
                     .header(true)                      // First row is header
                     .missingValueIndicator("NA", "?", "null", "") // Missing value markers
-                    .sample(false)                     // Read all rows (not just sample)
-                    .build();
+                    .sample(false);                    // Read all rows (not just sample)
 
-            Table data = Table.read().usingOptions(options);
+            // Types are inferred once and saved to iris_sample.csv.schema;
+            // later loads with the same header reuse them and skip inference
+            boolean reused = CsvSchema.isCurrent(options.build());
+            Table data = CsvSchema.read(options);
 
             System.out.println("Loaded with custom options");
+            System.out.println("Column types " + (reused ? "reused from" : "saved to") + " iris_sample.csv.schema");
             System.out.println("Configuration used:");
             System.out.println("  - Separator: comma");
             System.out.println("  - Header: yes");
@@ -169,5 +185,94 @@ public class DataLoading {
             System.err.println("Error: " + e.getMessage());
         }
     }
-}
 
+    /**
+     * Example 4: Loading large files from a memory-mapped file
+     *
+     * Concept: Table.read() builds a String for every cell before parsing it.
+     * MappedCsvReader maps the file and parses numbers straight from its bytes
+     * into the column arrays - same options, same table, a fraction of the
+     * garbage. Worth it once files reach hundreds of MB.
+     */
+    private static void example4_MappedLoading() {
+        System.out.println("\n--- Example 4: Memory-Mapped Loading ---");
+
+        try {
+            CsvReadOptions options = CsvReadOptions.builder("iris_sample.csv")
+                    .missingValueIndicator("NA", "?", "null", "")
+                    .build();
+
+            Table data = MappedCsvReader.read(options);
+
+            System.out.println("Loaded " + data.rowCount() + " rows without a String per cell");
+            System.out.println("Column types: " + data.types());
+            System.out.println("Same as Table.read(): "
+                    + data.toString().equals(Table.read().usingOptions(options).toString()));
+            System.out.println("(Numbers and strings are parsed directly; other types load as STRING)");
+
+        } catch (Exception e) {
+            System.err.println("Error loading file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Example 5: Streaming a large file in batches
+     *
+     * Concept: a whole-file load needs the whole table on the heap.
+     * CsvBatchReader hands the file out as Tables of a fixed number of rows,
+     * parsing the next batch in the background, so memory stays bounded
+     * however large the file. Suits jobs that filter, aggregate or score
+     * one batch at a time.
+     */
+    private static void example5_StreamingBatches() {
+        System.out.println("\n--- Example 5: Streaming in Batches ---");
+
+        CsvReadOptions options = CsvReadOptions.builder("iris_sample.csv")
+                .missingValueIndicator("NA", "?", "null", "")
+                .build();
+
+        // Only a few batches are in memory at a time, however large the file
+        try (CsvBatchReader batches = new CsvBatchReader(options, 4)) {
+            int count = 0;
+            int rows = 0;
+            while (batches.hasNext()) {
+                Table batch = batches.next();
+                count++;
+                rows += batch.rowCount();
+            }
+            System.out.println("Read " + rows + " rows in " + count + " batches of up to 4");
+            System.out.println("(Filter or aggregate each batch, then combine the partial results)");
+
+        } catch (Exception e) {
+            System.err.println("Error loading file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Example 6: Reloading from a columnar snapshot
+     *
+     * Concept: parsing text is the slow part of every load, even from a mapped
+     * file. TableSnapshot writes the parsed table once in a binary column
+     * layout; reopening it maps the file and wraps numeric columns around
+     * it, with nothing left to parse. Worth it for data loaded again and again.
+     */
+    private static void example6_Snapshot() {
+        System.out.println("\n--- Example 6: Columnar Snapshot ---");
+
+        try {
+            Table parsed = MappedCsvReader.read(Path.of("iris_sample.csv"));
+
+            // Parse once, then later runs open the snapshot instead of the CSV
+            Path snapshot = Path.of("iris_sample.snap");
+            TableSnapshot.write(parsed, snapshot);
+            Table reopened = TableSnapshot.read(snapshot);
+
+            System.out.println("Snapshot: " + Files.size(snapshot) + " bytes, " + reopened.rowCount() + " rows");
+            System.out.println("Same as the parsed table: " + reopened.toString().equals(parsed.toString()));
+            System.out.println("(Numeric columns are views of the mapped file; call copy() to modify one)");
+
+        } catch (Exception e) {
+            System.err.println("Error loading file: " + e.getMessage());
+        }
+    }
+}
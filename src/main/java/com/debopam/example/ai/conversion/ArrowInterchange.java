@@ -0,0 +1,774 @@
+package com.debopam.example.ai.conversion;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import smile.data.DataFrame;
+import smile.data.vector.BooleanVector;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.FloatVector;
+import smile.data.vector.LongVector;
+import smile.data.vector.NullableBooleanVector;
+import smile.data.vector.NullableDoubleVector;
+import smile.data.vector.NullableFloatVector;
+import smile.data.vector.NullableIntVector;
+import smile.data.vector.NullableLongVector;
+import smile.data.vector.NullableShortVector;
+import smile.data.vector.ShortVector;
+import smile.data.vector.StringVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.InstantColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.booleans.BooleanColumnType;
+import tech.tablesaw.columns.dates.PackedLocalDate;
+import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
+import tech.tablesaw.columns.instant.PackedInstant;
+import tech.tablesaw.columns.numbers.IntColumnType;
+import tech.tablesaw.columns.numbers.LongColumnType;
+import tech.tablesaw.columns.numbers.ShortColumnType;
+import tech.tablesaw.columns.strings.DictionaryMap;
+import tech.tablesaw.columns.strings.StringColumnType;
+import tech.tablesaw.columns.times.PackedLocalTime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Apache Arrow interchange for Tablesaw, Smile and ND4j
+ *
+ * Problem: handing a table to another library (or another JVM) usually means
+ * CSV or per-row objects, which re-parses or boxes every value.
+ * Solution: Arrow's columnar format. Each column is one contiguous off-heap
+ * buffer plus a validity bitmap, so export and import are bulk copies, and
+ * Arrow IPC files/streams move record batches between processes without any
+ * parsing.
+ *
+ * Tablesaw column  ↔ Arrow vector
+ * - DOUBLE / FLOAT           ↔ Float8Vector / Float4Vector
+ * - INTEGER / LONG / SHORT   ↔ IntVector / BigIntVector / SmallIntVector
+ * - BOOLEAN                  ↔ BitVector
+ * - STRING                   ↔ VarCharVector (UTF-8)
+ * - LOCAL_DATE               ↔ DateDayVector (epoch days)
+ * - LOCAL_DATE_TIME          ↔ TimeStampMilliVector
+ * - INSTANT                  ↔ TimeStampMilliTZVector("UTC")
+ * Tablesaw missing values become Arrow nulls and back.
+ *
+ * What is zero-copy:
+ * - {@link #columnView} wraps a Float8Vector's buffer as an ND4j column, no copy.
+ * - {@link #toINDArray} builds a 'f' order matrix with one native memcpy per
+ *   DOUBLE column; separate Arrow buffers cannot form a single matrix without it.
+ * - {@link #toDataFrame} copies once: Smile vectors are backed by heap arrays.
+ *
+ * Runtime requirement (JDK 17+): Arrow reads direct buffer addresses through
+ * reflection, so start the JVM with
+ * {@code --add-opens=java.base/java.nio=org.apache.arrow.memory.core,ALL-UNNAMED}.
+ * {@link #isAvailable()} reports whether that was done.
+ *
+ * Usage:
+ * <pre>
+ * ArrowInterchange.writeFile(table, Path.of("data.arrow"), 64_000);
+ * ...                                                    // another JVM:
+ * ArrowInterchange.readFile(Path.of("data.arrow"), batch -> {
+ *     DataFrame df = ArrowInterchange.toDataFrame(batch);
+ *     INDArray x = ArrowInterchange.toINDArray(batch);
+ * });
+ * </pre>
+ */
+public final class ArrowInterchange {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final byte[] MISSING = new byte[0];
+
+    private ArrowInterchange() {
+    }
+
+    /**
+     * Whether Arrow's memory layer can start in this JVM (the add-opens flag
+     * is present).
+     */
+    public static boolean isAvailable() {
+        // Check first: without the flag Arrow logs a stack trace while failing to start
+        if (!Buffer.class.getModule().isOpen(Buffer.class.getPackageName(), RootAllocator.class.getModule())) {
+            return false;
+        }
+        try (BufferAllocator allocator = new RootAllocator()) {
+            allocator.buffer(8).close();
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    // ==================== Tablesaw → Arrow ====================
+
+    /**
+     * Export a table as one record batch. The caller owns (and must close)
+     * the returned root.
+     *
+     * @throws IllegalArgumentException for column types without an Arrow mapping
+     */
+    public static VectorSchemaRoot toArrow(Table table, BufferAllocator allocator) {
+        return toArrow(table, 0, table.rowCount(), allocator);
+    }
+
+    /**
+     * Export rows {@code [from, to)} of a table as one record batch.
+     */
+    public static VectorSchemaRoot toArrow(Table table, int from, int to, BufferAllocator allocator) {
+        List<FieldVector> vectors = new ArrayList<>(table.columnCount());
+        try {
+            for (Column<?> col : table.columns()) {
+                vectors.add(toVector(col, from, to, allocator));
+            }
+        } catch (RuntimeException e) {
+            vectors.forEach(FieldVector::close);
+            throw e;
+        }
+        VectorSchemaRoot root = new VectorSchemaRoot(vectors);
+        root.setRowCount(to - from);
+        return root;
+    }
+
+    private static FieldVector toVector(Column<?> col, int from, int to, BufferAllocator allocator) {
+        String name = col.name();
+        int n = to - from;
+        if (col instanceof DoubleColumn) {
+            DoubleColumn c = (DoubleColumn) col;
+            Float8Vector v = allocate(new Float8Vector(name, allocator), n);
+            DoubleBuffer data = data(v, n, Double.BYTES).asDoubleBuffer();
+            for (int i = 0; i < n; i++) {
+                data.put(i, c.getDouble(from + i));
+            }
+            markMissing(v, col, from, n);
+            return v;
+        } else if (col instanceof FloatColumn) {
+            FloatColumn c = (FloatColumn) col;
+            Float4Vector v = allocate(new Float4Vector(name, allocator), n);
+            FloatBuffer data = data(v, n, Float.BYTES).asFloatBuffer();
+            for (int i = 0; i < n; i++) {
+                data.put(i, c.getFloat(from + i));
+            }
+            markMissing(v, col, from, n);
+            return v;
+        } else if (col instanceof IntColumn) {
+            IntColumn c = (IntColumn) col;
+            org.apache.arrow.vector.IntVector v = allocate(new org.apache.arrow.vector.IntVector(name, allocator), n);
+            IntBuffer data = data(v, n, Integer.BYTES).asIntBuffer();
+            for (int i = 0; i < n; i++) {
+                data.put(i, c.getInt(from + i));
+            }
+            markMissing(v, col, from, n);
+            return v;
+        } else if (col instanceof LongColumn) {
+            LongColumn c = (LongColumn) col;
+            BigIntVector v = allocate(new BigIntVector(name, allocator), n);
+            LongBuffer data = data(v, n, Long.BYTES).asLongBuffer();
+            for (int i = 0; i < n; i++) {
+                data.put(i, c.getLong(from + i));
+            }
+            markMissing(v, col, from, n);
+            return v;
+        } else if (col instanceof ShortColumn) {
+            ShortColumn c = (ShortColumn) col;
+            SmallIntVector v = allocate(new SmallIntVector(name, allocator), n);
+            ShortBuffer data = data(v, n, Short.BYTES).asShortBuffer();
+            for (int i = 0; i < n; i++) {
+                data.put(i, c.getShort(from + i));
+            }
+            markMissing(v, col, from, n);
+            return v;
+        } else if (col instanceof BooleanColumn) {
+            BooleanColumn c = (BooleanColumn) col;
+            BitVector v = allocate(new BitVector(name, allocator), n);
+            for (int i = 0; i < n; i++) {
+                byte b = c.getByte(from + i);
+                if (b == BooleanColumnType.MISSING_VALUE) {
+                    v.setNull(i);
+                } else {
+                    v.set(i, b == BooleanColumnType.BYTE_TRUE ? 1 : 0);
+                }
+            }
+            v.setValueCount(n);
+            return v;
+        } else if (col instanceof StringColumn) {
+            return stringVector((StringColumn) col, from, to, allocator);
+        } else if (col instanceof DateColumn) {
+            DateColumn c = (DateColumn) col;
+            DateDayVector v = allocate(new DateDayVector(name, allocator), n);
+            IntBuffer data = data(v, n, Integer.BYTES).asIntBuffer();
+            for (int i = 0; i < n; i++) {
+                if (!c.isMissing(from + i)) {
+                    data.put(i, (int) PackedLocalDate.toEpochDay(c.getIntInternal(from + i)));
+                }
+            }
+            markMissing(v, col, from, n);
+            return v;
+        } else if (col instanceof DateTimeColumn) {
+            DateTimeColumn c = (DateTimeColumn) col;
+            TimeStampMilliVector v = allocate(new TimeStampMilliVector(name, allocator), n);
+            LongBuffer data = data(v, n, Long.BYTES).asLongBuffer();
+            for (int i = 0; i < n; i++) {
+                if (!c.isMissing(from + i)) {
+                    long packed = c.getLongInternal(from + i);
+                    data.put(i, PackedLocalDate.toEpochDay(PackedLocalDateTime.date(packed)) * MILLIS_PER_DAY
+                            + PackedLocalDateTime.getMillisecondOfDay(packed));
+                }
+            }
+            markMissing(v, col, from, n);
+            return v;
+        } else if (col instanceof InstantColumn) {
+            InstantColumn c = (InstantColumn) col;
+            TimeStampMilliTZVector v = allocate(new TimeStampMilliTZVector(name, allocator, "UTC"), n);
+            LongBuffer data = data(v, n, Long.BYTES).asLongBuffer();
+            for (int i = 0; i < n; i++) {
+                if (!c.isMissing(from + i)) {
+                    long packed = c.getLongInternal(from + i);
+                    data.put(i, PackedLocalDate.toEpochDay(PackedInstant.date(packed)) * MILLIS_PER_DAY
+                            + PackedLocalTime.getMillisecondOfDay(PackedInstant.time(packed)));
+                }
+            }
+            markMissing(v, col, from, n);
+            return v;
+        }
+        throw new IllegalArgumentException("No Arrow mapping for column '" + name + "' of type " + col.type());
+    }
+
+    /**
+     * Strings are encoded to UTF-8 once per dictionary key, not once per row.
+     */
+    private static VarCharVector stringVector(StringColumn col, int from, int to, BufferAllocator allocator) {
+        DictionaryMap dictionary = col.getDictionary();
+        Int2ObjectOpenHashMap<byte[]> encoded = new Int2ObjectOpenHashMap<>();
+        VarCharVector v = new VarCharVector(col.name(), allocator);
+        v.allocateNew(to - from);
+        for (int i = from; i < to; i++) {
+            int key = dictionary.getKeyForIndex(i);
+            byte[] bytes = encoded.get(key);
+            if (bytes == null) {
+                String value = dictionary.getValueForKey(key);
+                bytes = StringColumnType.valueIsMissing(value) ? MISSING : value.getBytes(StandardCharsets.UTF_8);
+                encoded.put(key, bytes);
+            }
+            if (bytes == MISSING) {
+                v.setNull(i - from);
+            } else {
+                v.setSafe(i - from, bytes);
+            }
+        }
+        v.setValueCount(to - from);
+        return v;
+    }
+
+    private static <V extends BaseFixedWidthVector> V allocate(V vector, int n) {
+        vector.allocateNew(n);
+        return vector;
+    }
+
+    /**
+     * All rows valid, then clear the bits of Tablesaw's missing values.
+     */
+    private static void markMissing(BaseFixedWidthVector v, Column<?> col, int from, int n) {
+        ArrowBuf validity = v.getValidityBuffer();
+        validity.setOne(0L, (long) BitVectorHelper.getValidityBufferSize(n));
+        for (int i = 0; i < n; i++) {
+            if (col.isMissing(from + i)) {
+                BitVectorHelper.unsetBit(validity, i);
+            }
+        }
+        v.setValueCount(n);
+    }
+
+    /**
+     * Little-endian NIO window over the first {@code n} values of a vector.
+     */
+    private static ByteBuffer data(BaseFixedWidthVector v, int n, int width) {
+        return v.getDataBuffer().nioBuffer(0, n * width).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // ==================== Arrow → ND4j ====================
+
+    /**
+     * A DOUBLE column as an n × 1 INDArray over the Arrow buffer itself.
+     *
+     * Nothing is copied, so writes show up in the Arrow vector, nulls read as
+     * whatever the slot holds (use {@link #toINDArray} for NaN), and the
+     * array must not be used after the root is closed.
+     */
+    public static INDArray columnView(VectorSchemaRoot root, String name) {
+        FieldVector vector = root.getVector(name);
+        if (!(vector instanceof Float8Vector)) {
+            throw new IllegalArgumentException("Column '" + name + "' is not a Float8Vector");
+        }
+        int n = root.getRowCount();
+        DoublePointer pointer = new DoublePointer(data((Float8Vector) vector, n, Double.BYTES)
+                .order(ByteOrder.nativeOrder()).asDoubleBuffer());
+        DataBuffer buffer = Nd4j.createBuffer(pointer, n, DataType.DOUBLE);
+        return Nd4j.create(buffer, new long[]{n, 1}, new long[]{1, n}, 0, 'f', DataType.DOUBLE);
+    }
+
+    /**
+     * Every numeric column of a batch as a rows × cols DOUBLE 'f' order
+     * matrix; nulls become NaN. DOUBLE columns move with one native copy each.
+     *
+     * @throws IllegalArgumentException for non-numeric columns
+     */
+    public static INDArray toINDArray(VectorSchemaRoot root) {
+        int rows = root.getRowCount();
+        List<FieldVector> vectors = root.getFieldVectors();
+        int cols = vectors.size();
+        if (rows == 0 || cols == 0) {
+            return Nd4j.create(DataType.DOUBLE, rows, cols);
+        }
+
+        INDArray matrix = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, cols}, 'f');
+        double[] scratch = null;
+        for (int j = 0; j < cols; j++) {
+            FieldVector vector = vectors.get(j);
+            if (vector instanceof Float8Vector) {
+                DoublePointer src = new DoublePointer(data((Float8Vector) vector, rows, Double.BYTES)
+                        .order(ByteOrder.nativeOrder()).asDoubleBuffer());
+                DoublePointer dst = new DoublePointer(matrix.data().addressPointer()).position((long) j * rows);
+                Pointer.memcpy(dst, src, (long) rows * Double.BYTES);
+                if (vector.getNullCount() > 0) {
+                    DoubleBuffer window = NativeBuffers.doubles(matrix, (long) j * rows, rows);
+                    for (int i = 0; i < rows; i++) {
+                        if (vector.isNull(i)) {
+                            window.put(i, Double.NaN);
+                        }
+                    }
+                }
+            } else {
+                if (scratch == null) {
+                    scratch = new double[rows];
+                }
+                copyNumeric(vector, rows, scratch);
+                NativeBuffers.doubles(matrix, (long) j * rows, rows).put(scratch, 0, rows);
+            }
+        }
+        return matrix;
+    }
+
+    private static void copyNumeric(FieldVector vector, int n, double[] dest) {
+        if (vector instanceof Float4Vector) {
+            FloatBuffer data = data((Float4Vector) vector, n, Float.BYTES).asFloatBuffer();
+            for (int i = 0; i < n; i++) {
+                dest[i] = data.get(i);
+            }
+        } else if (vector instanceof org.apache.arrow.vector.IntVector || vector instanceof DateDayVector) {
+            IntBuffer data = data((BaseFixedWidthVector) vector, n, Integer.BYTES).asIntBuffer();
+            for (int i = 0; i < n; i++) {
+                dest[i] = data.get(i);
+            }
+        } else if (vector instanceof BigIntVector || vector instanceof TimeStampMilliVector
+                || vector instanceof TimeStampMilliTZVector) {
+            LongBuffer data = data((BaseFixedWidthVector) vector, n, Long.BYTES).asLongBuffer();
+            for (int i = 0; i < n; i++) {
+                dest[i] = data.get(i);
+            }
+        } else if (vector instanceof SmallIntVector) {
+            ShortBuffer data = data((SmallIntVector) vector, n, Short.BYTES).asShortBuffer();
+            for (int i = 0; i < n; i++) {
+                dest[i] = data.get(i);
+            }
+        } else if (vector instanceof BitVector) {
+            BitVector bits = (BitVector) vector;
+            for (int i = 0; i < n; i++) {
+                dest[i] = bits.isNull(i) ? 0 : bits.get(i);
+            }
+        } else {
+            throw new IllegalArgumentException("Column '" + vector.getName() + "' is not numeric: "
+                    + vector.getField().getType());
+        }
+        if (vector.getNullCount() > 0) {
+            for (int i = 0; i < n; i++) {
+                if (vector.isNull(i)) {
+                    dest[i] = Double.NaN;
+                }
+            }
+        }
+    }
+
+    // ==================== Arrow → Smile ====================
+
+    /**
+     * A batch as a Smile DataFrame. Columns with nulls become Nullable*Vectors;
+     * dates and timestamps become epoch days / milliseconds, as in
+     * {@link TablesawSmileConverter}.
+     */
+    public static DataFrame toDataFrame(VectorSchemaRoot root) {
+        List<FieldVector> vectors = root.getFieldVectors();
+        ValueVector[] columns = new ValueVector[vectors.size()];
+        for (int j = 0; j < columns.length; j++) {
+            columns[j] = toValueVector(vectors.get(j), root.getRowCount());
+        }
+        return new DataFrame(columns);
+    }
+
+    private static ValueVector toValueVector(FieldVector vector, int n) {
+        String name = vector.getName();
+        BitSet nulls = nulls(vector, n);
+        if (vector instanceof Float8Vector) {
+            double[] values = new double[n];
+            data((Float8Vector) vector, n, Double.BYTES).asDoubleBuffer().get(values);
+            return nulls == null ? new DoubleVector(name, values) : new NullableDoubleVector(name, values, nulls);
+        } else if (vector instanceof Float4Vector) {
+            float[] values = new float[n];
+            data((Float4Vector) vector, n, Float.BYTES).asFloatBuffer().get(values);
+            return nulls == null ? new FloatVector(name, values) : new NullableFloatVector(name, values, nulls);
+        } else if (vector instanceof org.apache.arrow.vector.IntVector || vector instanceof DateDayVector) {
+            int[] values = new int[n];
+            data((BaseFixedWidthVector) vector, n, Integer.BYTES).asIntBuffer().get(values);
+            return nulls == null ? new smile.data.vector.IntVector(name, values) : new NullableIntVector(name, values, nulls);
+        } else if (vector instanceof BigIntVector || vector instanceof TimeStampMilliVector
+                || vector instanceof TimeStampMilliTZVector) {
+            long[] values = new long[n];
+            data((BaseFixedWidthVector) vector, n, Long.BYTES).asLongBuffer().get(values);
+            return nulls == null ? new LongVector(name, values) : new NullableLongVector(name, values, nulls);
+        } else if (vector instanceof SmallIntVector) {
+            short[] values = new short[n];
+            data((SmallIntVector) vector, n, Short.BYTES).asShortBuffer().get(values);
+            return nulls == null ? new ShortVector(name, values) : new NullableShortVector(name, values, nulls);
+        } else if (vector instanceof BitVector) {
+            BitVector bits = (BitVector) vector;
+            BitSet values = new BitSet(n);
+            for (int i = 0; i < n; i++) {
+                if (!bits.isNull(i) && bits.get(i) != 0) {
+                    values.set(i);
+                }
+            }
+            return nulls == null ? new BooleanVector(name, n, values) : new NullableBooleanVector(name, n, values, nulls);
+        } else if (vector instanceof VarCharVector) {
+            return new StringVector(name, strings((VarCharVector) vector, n));
+        }
+        throw new IllegalArgumentException("No Smile mapping for Arrow column '" + name + "' of type "
+                + vector.getField().getType());
+    }
+
+    private static BitSet nulls(FieldVector vector, int n) {
+        if (vector.getNullCount() == 0) {
+            return null;
+        }
+        BitSet nulls = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            if (vector.isNull(i)) {
+                nulls.set(i);
+            }
+        }
+        return nulls;
+    }
+
+    private static String[] strings(VarCharVector vector, int n) {
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            byte[] bytes = vector.get(i);
+            values[i] = bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    // ==================== Arrow → Tablesaw ====================
+
+    /**
+     * A batch as a Tablesaw table; the inverse of {@link #toArrow(Table, BufferAllocator)}.
+     */
+    public static Table toTable(VectorSchemaRoot root, String tableName) {
+        Table table = Table.create(tableName);
+        for (FieldVector vector : root.getFieldVectors()) {
+            table.addColumns(toColumn(vector, root.getRowCount()));
+        }
+        return table;
+    }
+
+    private static Column<?> toColumn(FieldVector vector, int n) {
+        String name = vector.getName();
+        boolean hasNulls = vector.getNullCount() > 0;
+        if (vector instanceof Float8Vector) {
+            double[] values = new double[n];
+            data((Float8Vector) vector, n, Double.BYTES).asDoubleBuffer().get(values);
+            if (hasNulls) {
+                for (int i = 0; i < n; i++) {
+                    if (vector.isNull(i)) {
+                        values[i] = Double.NaN;
+                    }
+                }
+            }
+            return DoubleColumn.create(name, values);
+        } else if (vector instanceof Float4Vector) {
+            float[] values = new float[n];
+            data((Float4Vector) vector, n, Float.BYTES).asFloatBuffer().get(values);
+            if (hasNulls) {
+                for (int i = 0; i < n; i++) {
+                    if (vector.isNull(i)) {
+                        values[i] = Float.NaN;
+                    }
+                }
+            }
+            return FloatColumn.create(name, values);
+        } else if (vector instanceof org.apache.arrow.vector.IntVector) {
+            int[] values = new int[n];
+            data((BaseFixedWidthVector) vector, n, Integer.BYTES).asIntBuffer().get(values);
+            if (hasNulls) {
+                for (int i = 0; i < n; i++) {
+                    if (vector.isNull(i)) {
+                        values[i] = IntColumnType.missingValueIndicator();
+                    }
+                }
+            }
+            return IntColumn.create(name, values);
+        } else if (vector instanceof BigIntVector) {
+            long[] values = new long[n];
+            data((BigIntVector) vector, n, Long.BYTES).asLongBuffer().get(values);
+            if (hasNulls) {
+                for (int i = 0; i < n; i++) {
+                    if (vector.isNull(i)) {
+                        values[i] = LongColumnType.missingValueIndicator();
+                    }
+                }
+            }
+            return LongColumn.create(name, values);
+        } else if (vector instanceof SmallIntVector) {
+            short[] values = new short[n];
+            data((SmallIntVector) vector, n, Short.BYTES).asShortBuffer().get(values);
+            if (hasNulls) {
+                for (int i = 0; i < n; i++) {
+                    if (vector.isNull(i)) {
+                        values[i] = ShortColumnType.missingValueIndicator();
+                    }
+                }
+            }
+            return ShortColumn.create(name, values);
+        } else if (vector instanceof BitVector) {
+            BitVector bits = (BitVector) vector;
+            BooleanColumn column = BooleanColumn.create(name);
+            for (int i = 0; i < n; i++) {
+                if (bits.isNull(i)) {
+                    column.append(BooleanColumnType.MISSING_VALUE);
+                } else {
+                    column.append(bits.get(i) != 0 ? BooleanColumnType.BYTE_TRUE : BooleanColumnType.BYTE_FALSE);
+                }
+            }
+            return column;
+        } else if (vector instanceof VarCharVector) {
+            String[] values = strings((VarCharVector) vector, n);
+            for (int i = 0; i < n; i++) {
+                if (values[i] == null) {
+                    values[i] = StringColumnType.missingValueIndicator();
+                }
+            }
+            return StringColumn.create(name, values);
+        } else if (vector instanceof DateDayVector) {
+            DateDayVector days = (DateDayVector) vector;
+            DateColumn column = DateColumn.create(name);
+            for (int i = 0; i < n; i++) {
+                if (days.isNull(i)) {
+                    column.appendMissing();
+                } else {
+                    column.appendInternal(PackedLocalDate.pack(LocalDate.ofEpochDay(days.get(i))));
+                }
+            }
+            return column;
+        } else if (vector instanceof TimeStampMilliTZVector) {
+            TimeStampMilliTZVector millis = (TimeStampMilliTZVector) vector;
+            InstantColumn column = InstantColumn.create(name);
+            for (int i = 0; i < n; i++) {
+                if (millis.isNull(i)) {
+                    column.appendMissing();
+                } else {
+                    column.appendInternal(PackedInstant.pack(Instant.ofEpochMilli(millis.get(i))));
+                }
+            }
+            return column;
+        } else if (vector instanceof TimeStampMilliVector) {
+            TimeStampMilliVector millis = (TimeStampMilliVector) vector;
+            DateTimeColumn column = DateTimeColumn.create(name);
+            for (int i = 0; i < n; i++) {
+                if (millis.isNull(i)) {
+                    column.appendMissing();
+                } else {
+                    Instant instant = Instant.ofEpochMilli(millis.get(i));
+                    column.appendInternal(PackedLocalDateTime.pack(LocalDateTime.ofInstant(instant, ZoneOffset.UTC)));
+                }
+            }
+            return column;
+        }
+        throw new IllegalArgumentException("No Tablesaw mapping for Arrow column '" + name + "' of type "
+                + vector.getField().getType());
+    }
+
+    // ==================== IPC ====================
+
+    /**
+     * Write a table to an Arrow IPC file, {@code batchRows} rows per record
+     * batch. The file format has a footer, so readers can seek to any batch.
+     */
+    public static void writeFile(Table table, Path path, int batchRows) throws IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             VectorSchemaRoot root = toArrow(table, 0, 0, allocator);
+             ArrowFileWriter writer = new ArrowFileWriter(root, null, channel)) {
+            writeBatches(table, batchRows, root, writer, allocator);
+        }
+    }
+
+    /**
+     * Write a table in the Arrow IPC stream format (schema, then record
+     * batches), e.g. to a socket or pipe. The stream is not closed.
+     */
+    public static void writeStream(Table table, OutputStream out, int batchRows) throws IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             VectorSchemaRoot root = toArrow(table, 0, 0, allocator)) {
+            ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out);
+            writeBatches(table, batchRows, root, writer, allocator);
+        }
+    }
+
+    /**
+     * Each slice is exported to its own root, then moved (not copied) into the
+     * writer's root with an unloader/loader pair.
+     */
+    private static void writeBatches(Table table, int batchRows, VectorSchemaRoot root, ArrowWriter writer,
+                                     BufferAllocator allocator) throws IOException {
+        if (batchRows <= 0) {
+            throw new IllegalArgumentException("batchRows must be positive: " + batchRows);
+        }
+        VectorLoader loader = new VectorLoader(root);
+        writer.start();
+        for (int from = 0; from < table.rowCount(); from += batchRows) {
+            int to = Math.min(table.rowCount(), from + batchRows);
+            try (VectorSchemaRoot slice = toArrow(table, from, to, allocator);
+                 ArrowRecordBatch batch = new VectorUnloader(slice).getRecordBatch()) {
+                loader.load(batch);
+                writer.writeBatch();
+            }
+        }
+        writer.end();
+    }
+
+    /**
+     * Hand each record batch of an Arrow IPC file to {@code consumer}. The
+     * root is reused for every batch and closed afterwards, so convert (or
+     * copy) what you need inside the callback.
+     */
+    public static void readFile(Path path, Consumer<VectorSchemaRoot> consumer) throws IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            readBatches(reader, consumer);
+        }
+    }
+
+    /**
+     * Stream counterpart of {@link #readFile(Path, Consumer)}. The input
+     * stream is closed when done.
+     */
+    public static void readStream(InputStream in, Consumer<VectorSchemaRoot> consumer) throws IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(in, allocator)) {
+            readBatches(reader, consumer);
+        }
+    }
+
+    /**
+     * Read a whole Arrow IPC file back into one Tablesaw table.
+     */
+    public static Table readFile(Path path, String tableName) throws IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            return readTable(reader, tableName);
+        }
+    }
+
+    /**
+     * Read a whole Arrow IPC stream back into one Tablesaw table.
+     */
+    public static Table readStream(InputStream in, String tableName) throws IOException {
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(in, allocator)) {
+            return readTable(reader, tableName);
+        }
+    }
+
+    private static void readBatches(ArrowReader reader, Consumer<VectorSchemaRoot> consumer) throws IOException {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        while (reader.loadNextBatch()) {
+            consumer.accept(root);
+        }
+    }
+
+    private static Table readTable(ArrowReader reader, String tableName) throws IOException {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        Table table = null;
+        while (reader.loadNextBatch()) {
+            Table batch = toTable(root, tableName);
+            if (table == null) {
+                table = batch;
+            } else {
+                table.append(batch);
+            }
+        }
+        // No batches: the schema alone still gives the (empty) columns
+        return table != null ? table : toTable(root, tableName);
+    }
+}
@@ -0,0 +1,145 @@
+package com.debopam.example.ai.conversion;
+
+/**
+ * Running count, mean and variance of one column, gathered in a single pass.
+ *
+ * Values are consumed in blocks: each block's mean and sum of squared
+ * deviations are computed exactly from the (cache-resident) block, then merged
+ * into the running totals with Chan's parallel update. This is as stable as
+ * Welford's per-value update but costs one division per block instead of one
+ * per value.
+ *
+ * NaN values (missing) are skipped and not counted.
+ */
+public final class ColumnMoments {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    public ColumnMoments() {
+    }
+
+    /**
+     * Restore moments saved from {@link #count()}, {@link #mean()} and
+     * {@link #sumSquaredDeviations()}.
+     */
+    public ColumnMoments(long count, double mean, double sumSquaredDeviations) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count: " + count);
+        }
+        this.count = count;
+        this.mean = count == 0 ? 0.0 : mean;
+        this.m2 = count == 0 ? 0.0 : sumSquaredDeviations;
+    }
+
+    /**
+     * Add one value (Welford's update).
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Add {@code values[from..to)}, treated as one block.
+     */
+    public void addAll(double[] values, int from, int to) {
+        long n = 0;
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            double v = values[i];
+            if (v == v) {
+                sum += v;
+                n++;
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+        double blockMean = sum / n;
+        double blockM2 = 0.0;
+        for (int i = from; i < to; i++) {
+            double v = values[i];
+            if (v == v) {
+                double d = v - blockMean;
+                blockM2 += d * d;
+            }
+        }
+        combine(n, blockMean, blockM2);
+    }
+
+    /**
+     * Fold in moments gathered elsewhere (another batch, thread or
+     * partition). The result is the same as if every value had been added
+     * here.
+     */
+    public void merge(ColumnMoments other) {
+        if (other.count > 0) {
+            combine(other.count, other.mean, other.m2);
+        }
+    }
+
+    /**
+     * Number of non-missing values seen.
+     */
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Sum of squared deviations from the mean (M2); with count and mean this
+     * is the complete state.
+     */
+    public double sumSquaredDeviations() {
+        return m2;
+    }
+
+    /**
+     * Sample variance (divides by n - 1), matching ND4j's {@code var(0)}.
+     */
+    public double variance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    /**
+     * Sample standard deviation, matching ND4j's {@code std(0)}.
+     */
+    public double std() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Divisor for standardization: the sample std, or 1 for constant (or
+     * single-value) columns so they are centered rather than turned into NaN.
+     */
+    public double scale() {
+        double std = std();
+        return std > 0.0 ? std : 1.0;
+    }
+
+    /**
+     * Chan et al. pairwise update with a block of {@code n} values.
+     */
+    private void combine(long n, double blockMean, double blockM2) {
+        long total = count + n;
+        double delta = blockMean - mean;
+        mean += delta * n / total;
+        m2 += blockM2 + delta * delta * ((double) count * n / total);
+        count = total;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnMoments{count=" + count + ", mean=" + mean() + ", std=" + std() + "}";
+    }
+}
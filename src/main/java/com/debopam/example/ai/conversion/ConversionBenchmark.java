@@ -0,0 +1,887 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.ops.transforms.Transforms;
+import smile.data.DataFrame;
+import smile.data.vector.ValueVector;
+import smile.math.matrix.Matrix;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * LEVEL 2: Measuring Conversion Performance
+ *
+ * Learning Objectives:
+ * - Compare the tutorial's per-cell helpers with the bulk converters
+ * - Warm up the JIT before timing anything
+ * - Check that a faster path still produces the same numbers
+ *
+ * Sizes are controlled with system properties so the same program can run
+ * on a laptop or a large server, e.g.
+ * {@code -Dbench.rows=5000000 -Dbench.cols=40 -Dbench.runs=5}
+ *
+ * The parallel sweep is most useful on a wide table, e.g.
+ * {@code -Dbench.rows=100000 -Dbench.cols=2000 -Dbench.parallelism=1,4,16,64}
+ *
+ * For the 1M × 200 ND4j → Smile case use
+ * {@code -Dbench.rows=1000000 -Dbench.cols=200 -Xmx8g}.
+ *
+ * JVM flags for the optional parts: benchmark 11 needs
+ * {@code --add-opens=java.base/java.nio=ALL-UNNAMED} (Arrow), benchmark 13
+ * compares SIMD with scalar only under {@code --add-modules jdk.incubator.vector}.
+ */
+public class ConversionBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 1_000_000);
+    private static final int COLS = Integer.getInteger("bench.cols", 20);
+    private static final int WARMUPS = Integer.getInteger("bench.warmups", 2);
+    private static final int RUNS = Integer.getInteger("bench.runs", 5);
+    private static final String PARALLELISM = System.getProperty("bench.parallelism", "1,4,16,64");
+
+    public static void main(String[] args) {
+        System.out.println("=== Conversion Benchmark ===");
+        System.out.println("Rows: " + ROWS + ", Columns: " + COLS
+                + ", Warmups: " + WARMUPS + ", Runs: " + RUNS + "\n");
+
+        Table table = createNumericTable(ROWS, COLS, 42);
+
+        benchmark1_TablesawToND4j(table);
+        benchmark2_ND4jToSmile();
+        benchmark3_ParallelColumns(table);
+        benchmark4_Float32(table);
+        benchmark5_SparseFeatures();
+        benchmark6_ConversionPlan(table);
+        benchmark7_Standardization(table);
+        benchmark8_Workspace(table);
+        benchmark9_ReverseConversion(table);
+        benchmark10_SmileND4jBridge(table);
+        benchmark11_ArrowInterchange(table);
+        benchmark12_LazyView(table);
+        benchmark13_VectorKernels(table);
+        benchmark14_ConversionCache(table);
+    }
+
+    /**
+     * Benchmark 1: Tablesaw → ND4j
+     *
+     * Baseline: row-major loop with a column lookup and instanceof per cell
+     * Bulk: one type check per column, column-major fill of a native buffer
+     */
+    private static void benchmark1_TablesawToND4j(Table table) {
+        System.out.println("--- Benchmark 1: Tablesaw → ND4j ---");
+
+        double perCell = time("per-cell double[][]", () -> perCellTablesawToND4j(table));
+        double bulk = time("column-major bulk", () -> TablesawNd4jConverter.toMatrix(table));
+        System.out.printf("Speedup: %.1fx%n", perCell / bulk);
+
+        INDArray expected = perCellTablesawToND4j(table);
+        INDArray actual = TablesawNd4jConverter.toMatrix(table);
+        System.out.println("Results equal: " + expected.equals(actual));
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 2: ND4j → Smile
+     *
+     * Baseline: getDouble(i, j) per element
+     * Bulk: one native read per column of a column-major matrix
+     */
+    private static void benchmark2_ND4jToSmile() {
+        System.out.println("--- Benchmark 2: ND4j → Smile ---");
+
+        INDArray cOrder = Nd4j.randn(DataType.DOUBLE, ROWS, COLS);
+        INDArray fOrder = cOrder.dup('f');
+        String[] names = new String[COLS];
+        for (int j = 0; j < COLS; j++) {
+            names[j] = "x" + j;
+        }
+
+        double perElement = time("getDouble(i, j)", () -> perElementND4jToSmile(cOrder, names));
+        double bulkC = time("bulk, 'c' input (+ dup)", () -> Nd4jSmileConverter.toDataFrame(cOrder, names));
+        double bulkF = time("bulk, 'f' input", () -> Nd4jSmileConverter.toDataFrame(fOrder, names));
+
+        double values = (double) ROWS * COLS;
+        System.out.printf("Throughput: %.0f / %.0f / %.0f M values/s%n",
+                values / perElement / 1e3, values / bulkC / 1e3, values / bulkF / 1e3);
+        System.out.printf("Speedup: %.1fx ('c'), %.1fx ('f')%n", perElement / bulkC, perElement / bulkF);
+
+        DataFrame expected = perElementND4jToSmile(cOrder, names);
+        DataFrame actual = Nd4jSmileConverter.toDataFrame(cOrder, names);
+        System.out.println("Results equal: " + Arrays.deepEquals(expected.toArray(), actual.toArray()));
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 3: column-parallel conversion
+     *
+     * Each level in bench.parallelism gets its own ForkJoinPool; levels above
+     * the machine's core count show the cost of oversubscription.
+     */
+    private static void benchmark3_ParallelColumns(Table table) {
+        System.out.println("--- Benchmark 3: Column-Parallel Conversion ---");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+        double sequentialND4j = time("sequential → ND4j", () -> TablesawNd4jConverter.toMatrix(table));
+        double sequentialSmile = time("sequential → Smile", () -> TablesawSmileConverter.toDataFrame(table));
+
+        for (String level : PARALLELISM.split(",")) {
+            int parallelism = Integer.parseInt(level.trim());
+            try (ParallelConverter converter = new ParallelConverter(parallelism)) {
+                double nd4j = time(parallelism + " threads → ND4j", () -> converter.toMatrix(table));
+                double smile = time(parallelism + " threads → Smile", () -> converter.toDataFrame(table));
+                System.out.printf("  speedup at %d threads: %.1fx (ND4j), %.1fx (Smile)%n",
+                        parallelism, sequentialND4j / nd4j, sequentialSmile / smile);
+            }
+        }
+
+        try (ParallelConverter converter = new ParallelConverter(4)) {
+            System.out.println("Results equal: "
+                    + converter.toMatrix(table).equals(TablesawNd4jConverter.toMatrix(table)));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 4: float32 vs float64
+     *
+     * Same table converted to DOUBLE and FLOAT matrices; compares native
+     * memory, conversion time, a BLAS-bound op (XᵀX) and the round trip to Smile.
+     */
+    private static void benchmark4_Float32(Table table) {
+        System.out.println("--- Benchmark 4: Float32 Mode ---");
+
+        INDArray doubles = TablesawNd4jConverter.toMatrix(table, DataType.DOUBLE);
+        INDArray floats = TablesawNd4jConverter.toMatrix(table, DataType.FLOAT);
+        System.out.printf("Native memory: %.1f MB (double) vs %.1f MB (float)%n",
+                doubles.length() * 8 / 1e6, floats.length() * 4 / 1e6);
+
+        time("convert → DOUBLE", () -> TablesawNd4jConverter.toMatrix(table, DataType.DOUBLE));
+        time("convert → FLOAT", () -> TablesawNd4jConverter.toMatrix(table, DataType.FLOAT));
+
+        double gramDouble = time("XᵀX DOUBLE", () -> doubles.transpose().mmul(doubles));
+        double gramFloat = time("XᵀX FLOAT", () -> floats.transpose().mmul(floats));
+        System.out.printf("XᵀX speedup: %.1fx%n", gramDouble / gramFloat);
+
+        String[] names = table.columnNames().toArray(new String[0]);
+        time("→ Smile DoubleVector", () -> Nd4jSmileConverter.toDataFrame(doubles, names, DataType.DOUBLE));
+        time("→ Smile FloatVector", () -> Nd4jSmileConverter.toDataFrame(floats, names, DataType.FLOAT));
+
+        double maxError = floats.castTo(DataType.DOUBLE).sub(doubles).norm1(0).maxNumber().doubleValue()
+                / table.rowCount();
+        System.out.printf("Mean absolute rounding error per column (worst column): %.2e%n", maxError);
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 5: sparse vs dense on a one-hot style table
+     *
+     * Each row has a single non-zero count per group of 20 columns (5% dense),
+     * the shape produced by one-hot encoding. Compares memory, conversion
+     * time and max-abs scaling.
+     */
+    private static void benchmark5_SparseFeatures() {
+        System.out.println("--- Benchmark 5: Sparse Features ---");
+
+        Table sparseTable = createOneHotTable(ROWS, COLS, 42);
+        System.out.println("Sparse form pays off: " + SparseFeatureMatrix.paysOff(sparseTable));
+
+        double dense = time("dense → ND4j", () -> TablesawNd4jConverter.toMatrix(sparseTable));
+        double sparse = time("sparse CSC", () -> SparseFeatureMatrix.from(sparseTable));
+        System.out.printf("Conversion speedup: %.1fx%n", dense / sparse);
+
+        SparseFeatureMatrix matrix = SparseFeatureMatrix.from(sparseTable);
+        System.out.printf("Density: %.3f, memory: %.1f MB (dense) vs %.1f MB (sparse)%n",
+                matrix.density(), matrix.denseMemoryBytes() / 1e6, matrix.memoryBytes() / 1e6);
+
+        INDArray denseMatrix = TablesawNd4jConverter.toMatrix(sparseTable);
+        double denseScale = time("dense max-abs scaling", () ->
+                denseMatrix.div(Transforms.abs(denseMatrix).max(0).reshape(1, COLS)));
+        double sparseScale = time("sparse max-abs scaling", () -> SparseFeatureMatrix.from(sparseTable).scaleByMaxAbs());
+        System.out.printf("Scaling speedup (sparse includes rebuild): %.1fx%n", denseScale / sparseScale);
+
+        System.out.println("Results equal: " + matrix.toDense().equals(denseMatrix));
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 6: many small same-schema batches
+     *
+     * Streaming jobs convert thousands of small batches. The plan resolves the
+     * schema once; the plain converters resolve it on every batch.
+     */
+    private static void benchmark6_ConversionPlan(Table table) {
+        System.out.println("--- Benchmark 6: Conversion Plan ---");
+
+        int batchRows = 256;
+        List<Table> batches = new ArrayList<>();
+        for (int from = 0; from + batchRows <= Math.min(table.rowCount(), 200_000); from += batchRows) {
+            batches.add(table.inRange(from, from + batchRows));
+        }
+        System.out.println("Batches: " + batches.size() + " x " + batchRows + " rows");
+
+        double plain = time("per-batch dispatch → ND4j", () -> {
+            batches.forEach(TablesawNd4jConverter::toMatrix);
+            return null;
+        });
+        double planned = time("cached plan → ND4j", () -> {
+            batches.forEach(batch -> ConversionPlan.of(batch).toMatrix(batch));
+            return null;
+        });
+        System.out.printf("Speedup: %.2fx%n", plain / planned);
+
+        double plainSmile = time("per-batch dispatch → Smile", () -> {
+            batches.forEach(TablesawSmileConverter::toDataFrame);
+            return null;
+        });
+        double plannedSmile = time("cached plan → Smile", () -> {
+            batches.forEach(batch -> ConversionPlan.of(batch).toDataFrame(batch));
+            return null;
+        });
+        System.out.printf("Speedup: %.2fx%n", plainSmile / plannedSmile);
+
+        Table first = batches.get(0);
+        System.out.println("Cached plans: " + ConversionPlan.cachedPlanCount());
+        System.out.println("Results equal: "
+                + ConversionPlan.of(first).toMatrix(first).equals(TablesawNd4jConverter.toMatrix(first)));
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 7: standardization
+     *
+     * Passes over rows × cols doubles and full-size arrays alive at the peak:
+     * - ND4j ops: convert, mean, std, sub, div; 5 passes, 3 arrays
+     * - in place: convert, moments, rewrite; 3 passes (+1 write), 1 array
+     * - fused: convert with moments and rewrite on a heap column; 1 native write, 1 array
+     */
+    private static void benchmark7_Standardization(Table table) {
+        System.out.println("--- Benchmark 7: Standardization ---");
+        double mb = (double) table.rowCount() * table.columnCount() * 8 / 1e6;
+        System.out.printf("Peak native memory: %.0f MB (ND4j ops) vs %.0f MB (in place / fused)%n", 3 * mb, mb);
+
+        double ops = time("ND4j mean/std/sub/div", () -> {
+            INDArray x = TablesawNd4jConverter.toMatrix(table);
+            return x.subRowVector(x.mean(0)).divRowVector(x.std(0));
+        });
+        double inPlace = time("convert + in place", () -> {
+            INDArray x = TablesawNd4jConverter.toMatrix(table);
+            Standardization.standardizeInPlace(x);
+            return x;
+        });
+        double fused = time("fused into copy", () -> Standardization.toStandardizedMatrix(table, null));
+        System.out.printf("Speedup: %.1fx (in place), %.1fx (fused)%n", ops / inPlace, ops / fused);
+
+        INDArray x = TablesawNd4jConverter.toMatrix(table);
+        INDArray expected = x.subRowVector(x.mean(0)).divRowVector(x.std(0));
+        INDArray actual = Standardization.toStandardizedMatrix(table, null);
+        System.out.printf("Max abs difference: %.2e%n",
+                Transforms.abs(expected.sub(actual)).maxNumber().doubleValue());
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 8: batch pipeline with and without a workspace
+     *
+     * Both loops convert, standardize and hand each batch to Smile. Without a
+     * workspace every batch allocates new native memory; with one, the batch
+     * reuses the same block once the workspace has learned its size.
+     */
+    private static void benchmark8_Workspace(Table table) {
+        System.out.println("--- Benchmark 8: Workspace Pipeline ---");
+
+        int batchRows = 10_000;
+        List<Table> batches = new ArrayList<>();
+        for (int from = 0; from + batchRows <= table.rowCount(); from += batchRows) {
+            batches.add(table.inRange(from, from + batchRows));
+        }
+        String[] names = table.columnNames().toArray(new String[0]);
+        System.out.println("Batches: " + batches.size() + " x " + batchRows + " rows");
+
+        double plain = time("fresh allocations", () -> {
+            for (Table batch : batches) {
+                INDArray x = TablesawNd4jConverter.toMatrix(batch);
+                Nd4jSmileConverter.toDataFrame(x.subRowVector(x.mean(0)).divRowVector(x.std(0)), names);
+            }
+            return null;
+        });
+
+        try (WorkspacePipeline pipeline = new WorkspacePipeline("bench-batches")) {
+            double reused = time("workspace pipeline", () -> {
+                batches.forEach(pipeline::process);
+                return null;
+            });
+            System.out.printf("Speedup: %.1fx%n", plain / reused);
+        }
+
+        // Fresh pipeline so the learning batch is visible
+        try (WorkspacePipeline pipeline = new WorkspacePipeline("bench-instrumented")) {
+            for (int b = 0; b < Math.min(5, batches.size()); b++) {
+                pipeline.process(batches.get(b));
+                System.out.printf("  batch %d: workspace %,d bytes, used %,d, spilled %,d, pinned %,d%n",
+                        b, pipeline.workspaceBytes(), pipeline.lastCycleBytes(),
+                        pipeline.lastSpilledBytes(), pipeline.lastPinnedBytes());
+            }
+        }
+
+        Table first = batches.get(0);
+        DataFrame expected = Nd4jSmileConverter.toDataFrame(Standardization.toStandardizedMatrix(first, null), names);
+        try (WorkspacePipeline pipeline = new WorkspacePipeline("bench-check")) {
+            pipeline.process(first);
+            DataFrame actual = pipeline.process(first);
+            System.out.println("Results equal: " + Arrays.deepEquals(expected.toArray(), actual.toArray()));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 9: back to Tablesaw
+     *
+     * Baseline: the per-row loops one writes by hand (boxed get, append)
+     * Bulk: one primitive array per column
+     * Round trips Tablesaw → Smile → Tablesaw and Tablesaw → ND4j → Tablesaw
+     * must reproduce the original values, including a nominal column.
+     */
+    private static void benchmark9_ReverseConversion(Table table) {
+        System.out.println("--- Benchmark 9: Reverse Conversion ---");
+
+        Table withCategory = table.copy();
+        String[] levels = {"north", "south", "east", "west"};
+        String[] regions = new String[table.rowCount()];
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = levels[i % levels.length];
+        }
+        withCategory.addColumns(StringColumn.create("region", regions));
+
+        DataFrame df = TablesawSmileConverter.toDataFrame(withCategory);
+        double perRow = time("Smile → Tablesaw per row", () -> perRowSmileToTablesaw(df));
+        double bulk = time("Smile → Tablesaw bulk", () -> SmileTablesawConverter.toTable(df, "back"));
+        double values = (double) df.nrow() * df.ncol();
+        System.out.printf("Throughput: %.0f / %.0f M values/s, speedup %.1fx%n",
+                values / perRow / 1e3, values / bulk / 1e3, perRow / bulk);
+
+        INDArray matrix = TablesawNd4jConverter.toMatrix(table);
+        String[] names = table.columnNames().toArray(new String[0]);
+        double perCell = time("ND4j → Tablesaw per cell", () -> perCellND4jToTablesaw(matrix, names));
+        double bulkND4j = time("ND4j → Tablesaw bulk", () -> Nd4jTablesawConverter.toTable(matrix, names, "back"));
+        double cells = (double) matrix.length();
+        System.out.printf("Throughput: %.0f / %.0f M values/s, speedup %.1fx%n",
+                cells / perCell / 1e3, cells / bulkND4j / 1e3, perCell / bulkND4j);
+
+        Table fromSmile = SmileTablesawConverter.toTable(df, "back");
+        Table fromND4j = Nd4jTablesawConverter.toTable(matrix, names, "back");
+        System.out.println("Round trip via Smile equal: " + sameValues(withCategory, fromSmile));
+        System.out.println("Round trip via ND4j equal: " + sameValues(table, fromND4j));
+        System.out.println();
+    }
+
+    /**
+     * The original DataConversion.nd4jToSmile, kept here as the baseline.
+     */
+    private static DataFrame perElementND4jToSmile(INDArray array, String[] colNames) {
+        int rows = (int) array.rows();
+        int cols = (int) array.columns();
+
+        ValueVector[] vectors = new ValueVector[cols];
+
+        for (int j = 0; j < cols; j++) {
+            double[] column = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                column[i] = array.getDouble(i, j);
+            }
+            vectors[j] = ValueVector.of(colNames[j], column);
+        }
+
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Benchmark 10: Smile ↔ ND4j without Tablesaw
+     *
+     * Baselines: get/set per cell, and the double[][] hop Matrix.toArray() → Nd4j.create
+     */
+    private static void benchmark10_SmileND4jBridge(Table table) {
+        System.out.println("--- Benchmark 10: Smile ↔ ND4j Bridge ---");
+
+        DataFrame df = TablesawSmileConverter.toDataFrame(table);
+        double perCell = time("DataFrame → ND4j per cell", () -> {
+            INDArray x = Nd4j.create(DataType.DOUBLE, df.nrow(), df.ncol());
+            for (int i = 0; i < df.nrow(); i++) {
+                for (int j = 0; j < df.ncol(); j++) {
+                    x.putScalar(i, j, df.getDouble(i, j));
+                }
+            }
+            return x;
+        });
+        double bulk = time("DataFrame → ND4j bulk", () -> SmileNd4jConverter.toINDArray(df));
+        System.out.printf("Speedup: %.1fx%n", perCell / bulk);
+
+        INDArray x = SmileNd4jConverter.toINDArray(df);
+        double viaCells = time("ND4j → Matrix per cell", () -> {
+            Matrix m = new Matrix((int) x.rows(), (int) x.columns());
+            for (int i = 0; i < x.rows(); i++) {
+                for (int j = 0; j < x.columns(); j++) {
+                    m.set(i, j, x.getDouble(i, j));
+                }
+            }
+            return m;
+        });
+        double direct = time("ND4j → Matrix direct", () -> SmileNd4jConverter.toSmileMatrix(x));
+        System.out.printf("Speedup: %.1fx%n", viaCells / direct);
+
+        Matrix m = SmileNd4jConverter.toSmileMatrix(x);
+        double backViaArrays = time("Matrix → ND4j via double[][]", () -> Nd4j.create(m.toArray()));
+        double backDirect = time("Matrix → ND4j direct", () -> SmileNd4jConverter.toINDArray(m));
+        System.out.printf("Speedup: %.1fx%n", backViaArrays / backDirect);
+
+        System.out.println("Results equal: " + (x.equals(TablesawNd4jConverter.toMatrix(table))
+                && SmileNd4jConverter.toINDArray(m).equals(x)
+                && Arrays.deepEquals(m.toArray(), x.toDoubleMatrix())));
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 11: handing a table to another JVM
+     *
+     * Baseline: write a CSV file and parse it back
+     * Arrow: write an Arrow IPC file and load its record batches
+     * Needs --add-opens=java.base/java.nio=ALL-UNNAMED; skipped otherwise.
+     */
+    private static void benchmark11_ArrowInterchange(Table table) {
+        System.out.println("--- Benchmark 11: Arrow IPC vs CSV ---");
+        if (!ArrowInterchange.isAvailable()) {
+            System.out.println("Skipped: start the JVM with --add-opens=java.base/java.nio=ALL-UNNAMED\n");
+            return;
+        }
+
+        try {
+            Path csv = Files.createTempFile("bench", ".csv");
+            Path arrow = Files.createTempFile("bench", ".arrow");
+            try {
+                double csvWrite = time("CSV write", () -> {
+                    table.write().csv(csv.toFile());
+                    return csv;
+                });
+                double arrowWrite = time("Arrow IPC write", () -> {
+                    unchecked(() -> ArrowInterchange.writeFile(table, arrow, 65_536));
+                    return arrow;
+                });
+                System.out.printf("Speedup: %.1fx (%d MB CSV, %d MB Arrow)%n", csvWrite / arrowWrite,
+                        Files.size(csv) >> 20, Files.size(arrow) >> 20);
+
+                double csvRead = time("CSV read", () -> Table.read().csv(csv.toFile()));
+                double arrowRead = time("Arrow IPC read → Tablesaw", () -> {
+                    Table[] back = new Table[1];
+                    unchecked(() -> back[0] = ArrowInterchange.readFile(arrow, "back"));
+                    return back[0];
+                });
+                System.out.printf("Speedup: %.1fx%n", csvRead / arrowRead);
+
+                double[] sum = new double[1];
+                time("Arrow IPC read → ND4j", () -> {
+                    unchecked(() -> ArrowInterchange.readFile(arrow,
+                            batch -> sum[0] += ArrowInterchange.toINDArray(batch).sumNumber().doubleValue()));
+                    return sum;
+                });
+
+                Table back = ArrowInterchange.readFile(arrow, "back");
+                ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                ArrowInterchange.writeStream(table, stream, 65_536);
+                Table fromStream = ArrowInterchange.readStream(new ByteArrayInputStream(stream.toByteArray()), "back");
+                System.out.println("Results equal: " + (sameValues(table, back) && sameValues(table, fromStream)));
+            } finally {
+                Files.deleteIfExists(csv);
+                Files.deleteIfExists(arrow);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 12: column statistics without building the matrix
+     *
+     * Eager: toMatrix, then ND4j's reductions along dimension 0
+     * Lazy: TableMatrixView reads the table in 4096-row blocks; one pass per call
+     */
+    private static void benchmark12_LazyView(Table table) {
+        System.out.println("--- Benchmark 12: Lazy Column View ---");
+
+        double eager = time("toMatrix + mean/std", () -> {
+            INDArray x = TablesawNd4jConverter.toMatrix(table);
+            return new INDArray[]{x.mean(0), x.std(0)};
+        });
+        TableMatrixView view = TableMatrixView.of(table);
+        double lazy = time("view moments (one pass)", view::moments);
+        System.out.printf("Speedup: %.1fx%n", eager / lazy);
+
+        double eagerMax = time("toMatrix + max", () -> TablesawNd4jConverter.toMatrix(table).max(0));
+        double lazyMax = time("view max", view::max);
+        System.out.printf("Speedup: %.1fx, dense copy avoided: %d MB%n", eagerMax / lazyMax,
+                ((long) table.rowCount() * table.columnCount() * Double.BYTES) >> 20);
+
+        INDArray x = TablesawNd4jConverter.toMatrix(table);
+        INDArray w = Nd4j.rand(DataType.DOUBLE, table.columnCount(), 3);
+        System.out.println("Results equal: " + (view.mean().equalsWithEps(x.mean(0), 1e-9)
+                && view.std().equalsWithEps(x.std(0), 1e-9)
+                && view.min().equals(x.min(0)) && view.max().equals(x.max(0))
+                && view.getColumns(2, 0).materialize().equals(x.getColumns(2, 0))
+                && view.mmul(w).equalsWithEps(x.mmul(w), 1e-9)));
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 13: SIMD kernels vs their scalar loops
+     *
+     * Run with --add-modules jdk.incubator.vector, otherwise both sides are scalar.
+     * Plain copies and (x - a) / b loops are auto-vectorized by the JIT already;
+     * the kernels pay off where the loop has a branch (missing ints) or a stride.
+     */
+    private static void benchmark13_VectorKernels(Table table) {
+        System.out.println("--- Benchmark 13: Vector Kernels (" + VectorKernels.implementation() + ") ---");
+
+        int n = table.rowCount();
+        int cols = table.columnCount();
+        Random random = new Random(7);
+        int[] ints = new int[n];
+        double[] doubles = new double[n];
+        for (int i = 0; i < n; i++) {
+            ints[i] = i % 97 == 0 ? Integer.MIN_VALUE : random.nextInt(1000);
+            doubles[i] = random.nextGaussian();
+        }
+        double[] rowMajor = new double[n * cols];
+        for (int i = 0; i < rowMajor.length; i++) {
+            rowMajor[i] = random.nextDouble();
+        }
+        VectorKernels.Scalar scalar = new VectorKernels.Scalar();
+        double[] out = new double[n];
+        double[] expected = new double[n];
+        float[] floats = new float[n];
+
+        // Vector API code is only fast once C2 has compiled it; interpreted it is
+        // far slower than scalar, so warm every kernel up on small slices first
+        int slice = Math.min(n, 4096);
+        for (int r = 0; r < 20_000; r++) {
+            VectorKernels.widen(ints, 0, out, 0, slice, Integer.MIN_VALUE);
+            VectorKernels.multiply(doubles, 0, ints, 0, out, 0, slice, Integer.MIN_VALUE);
+            VectorKernels.narrow(doubles, 0, floats, 0, slice);
+            VectorKernels.scaledCopy(doubles, 0, out, 0, slice, 0.5, 2.0);
+            VectorKernels.gather(rowMajor, 0, cols, out, 0, slice);
+        }
+
+        double widenScalar = time("widen int → double scalar", () -> {
+            scalar.widen(ints, 0, out, 0, n, Integer.MIN_VALUE);
+            return out;
+        });
+        double widenSimd = time("widen int → double kernel", () -> {
+            VectorKernels.widen(ints, 0, out, 0, n, Integer.MIN_VALUE);
+            return out;
+        });
+        System.out.printf("Speedup: %.1fx%n", widenScalar / widenSimd);
+
+        double multiplyScalar = time("double × int scalar", () -> {
+            scalar.multiply(doubles, 0, ints, 0, out, 0, n, Integer.MIN_VALUE);
+            return out;
+        });
+        double multiplySimd = time("double × int kernel", () -> {
+            VectorKernels.multiply(doubles, 0, ints, 0, out, 0, n, Integer.MIN_VALUE);
+            return out;
+        });
+        System.out.printf("Speedup: %.1fx%n", multiplyScalar / multiplySimd);
+
+        double narrowScalar = time("narrow double → float scalar", () -> {
+            scalar.narrow(doubles, 0, floats, 0, n);
+            return floats;
+        });
+        double narrowSimd = time("narrow double → float kernel", () -> {
+            VectorKernels.narrow(doubles, 0, floats, 0, n);
+            return floats;
+        });
+        System.out.printf("Speedup: %.1fx%n", narrowScalar / narrowSimd);
+
+        double scaledScalar = time("scaled copy scalar", () -> {
+            scalar.scaledCopy(doubles, 0, out, 0, n, 0.5, 2.0);
+            return out;
+        });
+        double scaledSimd = time("scaled copy kernel", () -> {
+            VectorKernels.scaledCopy(doubles, 0, out, 0, n, 0.5, 2.0);
+            return out;
+        });
+        System.out.printf("Speedup: %.1fx%n", scaledScalar / scaledSimd);
+
+        double gatherScalar = time("strided gather scalar", () -> {
+            scalar.gather(rowMajor, cols - 1, cols, out, 0, n);
+            return out;
+        });
+        double gatherSimd = time("strided gather kernel", () -> {
+            VectorKernels.gather(rowMajor, cols - 1, cols, out, 0, n);
+            return out;
+        });
+        System.out.printf("Speedup: %.1fx%n", gatherScalar / gatherSimd);
+
+        INDArray rowMajorMatrix = TablesawNd4jConverter.toMatrix(table).dup('c');
+        String[] names = table.columnNames().toArray(new String[0]);
+        double viaTranspose = time("'c' ND4j → Smile via dup('f')",
+                () -> Nd4jSmileConverter.toDataFrame(rowMajorMatrix.dup('f'), names));
+        double viaGather = time("'c' ND4j → Smile gather", () -> Nd4jSmileConverter.toDataFrame(rowMajorMatrix, names));
+        System.out.printf("Speedup: %.1fx%n", viaTranspose / viaGather);
+
+        boolean equal = true;
+        scalar.widen(ints, 0, expected, 0, n, Integer.MIN_VALUE);
+        VectorKernels.widen(ints, 0, out, 0, n, Integer.MIN_VALUE);
+        equal &= Arrays.equals(expected, out);
+        scalar.multiply(doubles, 0, ints, 0, expected, 0, n, Integer.MIN_VALUE);
+        VectorKernels.multiply(doubles, 0, ints, 0, out, 0, n, Integer.MIN_VALUE);
+        equal &= Arrays.equals(expected, out);
+        scalar.scaledCopy(doubles, 0, expected, 0, n, 0.5, 2.0);
+        VectorKernels.scaledCopy(doubles, 0, out, 0, n, 0.5, 2.0);
+        equal &= Arrays.equals(expected, out);
+        float[] expectedFloats = new float[n];
+        scalar.narrow(doubles, 0, expectedFloats, 0, n);
+        VectorKernels.narrow(doubles, 0, floats, 0, n);
+        equal &= Arrays.equals(expectedFloats, floats);
+        scalar.gather(rowMajor, 1, cols, expected, 0, n);
+        VectorKernels.gather(rowMajor, 1, cols, out, 0, n);
+        equal &= Arrays.equals(expected, out);
+        equal &= Arrays.deepEquals(Nd4jSmileConverter.toDataFrame(rowMajorMatrix, names).toArray(),
+                TablesawSmileConverter.toDataFrame(table).toArray());
+        System.out.println("Results equal: " + equal);
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 14: Memoized conversions across model variants
+     *
+     * Five "variants" each ask for the Smile DataFrame and the ND4j matrix of
+     * the same table. Each cached run starts with an empty cache, so its time
+     * includes the one real conversion of each kind.
+     */
+    private static void benchmark14_ConversionCache(Table table) {
+        System.out.println("--- Benchmark 14: Conversion Cache ---");
+        int variants = 5;
+
+        double uncached = time(variants + " variants, no cache", () -> {
+            List<Object> results = new ArrayList<>();
+            for (int v = 0; v < variants; v++) {
+                results.add(TablesawSmileConverter.toDataFrame(table));
+                results.add(TablesawNd4jConverter.toMatrix(table));
+            }
+            return results;
+        });
+        double cached = time(variants + " variants, cached", () -> {
+            ConversionCache cache = new ConversionCache(Long.MAX_VALUE);
+            List<Object> results = new ArrayList<>();
+            for (int v = 0; v < variants; v++) {
+                results.add(cache.toDataFrame(table));
+                results.add(cache.toMatrix(table));
+            }
+            return results;
+        });
+        System.out.printf("Speedup: %.1fx%n", uncached / cached);
+
+        ConversionCache cache = new ConversionCache(Long.MAX_VALUE);
+        cache.toMatrix(table);
+        time("repeat lookup (hit)", () -> cache.toMatrix(table));
+        System.out.println(cache);
+
+        // A replaced column changes the version, so the next lookup converts again
+        Table edited = table.copy();
+        INDArray before = cache.toMatrix(edited);
+        DoubleColumn first = (DoubleColumn) edited.column(0);
+        edited.replaceColumn(0, first.multiply(2).setName(first.name()));
+        INDArray after = cache.toMatrix(edited);
+
+        // A budget of one matrix: asking for a second table evicts the first
+        long matrixBytes = (long) table.rowCount() * table.columnCount() * Double.BYTES;
+        ConversionCache small = new ConversionCache(matrixBytes);
+        small.toMatrix(table);
+        small.toMatrix(edited);
+        small.toMatrix(table);
+        System.out.println(small);
+
+        System.out.println("Results equal: " + (cache.toMatrix(table).equals(TablesawNd4jConverter.toMatrix(table))
+                && Arrays.deepEquals(cache.toDataFrame(table).toArray(),
+                        TablesawSmileConverter.toDataFrame(table).toArray())
+                && after.equals(TablesawNd4jConverter.toMatrix(edited)) && !after.equals(before)
+                && cache.staleCount() == 1 && small.evictionCount() == 2 && small.size() == 1));
+        System.out.println();
+    }
+
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    private static void unchecked(IOAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hand-written Smile → Tablesaw loop, kept as the baseline.
+     */
+    private static Table perRowSmileToTablesaw(DataFrame df) {
+        Table table = Table.create("back");
+        for (int j = 0; j < df.ncol(); j++) {
+            ValueVector vector = df.column(j);
+            if (vector.measure() != null) {
+                StringColumn col = StringColumn.create(vector.name());
+                for (int i = 0; i < df.nrow(); i++) {
+                    col.append(vector.measure().toString(vector.get(i)));
+                }
+                table.addColumns(col);
+            } else {
+                DoubleColumn col = DoubleColumn.create(vector.name());
+                for (int i = 0; i < df.nrow(); i++) {
+                    col.append(((Number) vector.get(i)).doubleValue());
+                }
+                table.addColumns(col);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Hand-written ND4j → Tablesaw loop, kept as the baseline.
+     */
+    private static Table perCellND4jToTablesaw(INDArray matrix, String[] names) {
+        Table table = Table.create("back");
+        for (int j = 0; j < names.length; j++) {
+            DoubleColumn col = DoubleColumn.create(names[j]);
+            for (int i = 0; i < matrix.rows(); i++) {
+                col.append(matrix.getDouble(i, j));
+            }
+            table.addColumns(col);
+        }
+        return table;
+    }
+
+    /**
+     * Helper: same names and the same values (compared as doubles for
+     * numeric columns, as strings otherwise)
+     */
+    static boolean sameValues(Table expected, Table actual) {
+        if (!expected.columnNames().equals(actual.columnNames()) || expected.rowCount() != actual.rowCount()) {
+            return false;
+        }
+        for (int j = 0; j < expected.columnCount(); j++) {
+            Column<?> a = expected.column(j);
+            Column<?> b = actual.column(j);
+            for (int i = 0; i < expected.rowCount(); i++) {
+                boolean same = a instanceof NumericColumn && b instanceof NumericColumn
+                        ? Double.compare(((NumericColumn<?>) a).getDouble(i), ((NumericColumn<?>) b).getDouble(i)) == 0
+                        : a.getString(i).equals(b.getString(i));
+                if (!same) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The original DataConversion.tablesawToND4j, kept here as the baseline.
+     */
+    private static INDArray perCellTablesawToND4j(Table table) {
+        int rows = table.rowCount();
+        int cols = table.columnCount();
+
+        double[][] data = new double[rows][cols];
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                Column<?> col = table.column(j);
+                if (col instanceof DoubleColumn) {
+                    data[i][j] = ((DoubleColumn) col).get(i);
+                } else if (col instanceof IntColumn) {
+                    data[i][j] = ((IntColumn) col).get(i);
+                }
+            }
+        }
+
+        return Nd4j.create(data);
+    }
+
+    /**
+     * Helper: mixed double/int table with reproducible random values
+     */
+    static Table createNumericTable(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        Table table = Table.create("bench");
+        for (int j = 0; j < cols; j++) {
+            if (j % 4 == 3) {
+                int[] values = new int[rows];
+                for (int i = 0; i < rows; i++) {
+                    values[i] = random.nextInt(1000);
+                }
+                table.addColumns(IntColumn.create("c" + j, values));
+            } else {
+                double[] values = new double[rows];
+                for (int i = 0; i < rows; i++) {
+                    values[i] = random.nextGaussian();
+                }
+                table.addColumns(DoubleColumn.create("c" + j, values));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Helper: one-hot style table, one non-zero count (1-5) per row in every
+     * group of 20 columns
+     */
+    static Table createOneHotTable(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        double[][] columns = new double[cols][rows];
+        for (int group = 0; group < cols; group += 20) {
+            int width = Math.min(20, cols - group);
+            for (int i = 0; i < rows; i++) {
+                columns[group + random.nextInt(width)][i] = 1 + random.nextInt(5);
+            }
+        }
+        Table table = Table.create("one-hot");
+        for (int j = 0; j < cols; j++) {
+            table.addColumns(DoubleColumn.create("f" + j, columns[j]));
+        }
+        return table;
+    }
+
+    /**
+     * Helper: run warmups, then timed runs; prints and returns the median in ms
+     */
+    static double time(String label, Supplier<?> task) {
+        for (int i = 0; i < WARMUPS; i++) {
+            task.get();
+        }
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            task.get();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        double median = millis[RUNS / 2];
+        System.out.printf("  %-28s median %9.1f ms   best %9.1f ms%n", label, median, millis[0]);
+        return median;
+    }
+}
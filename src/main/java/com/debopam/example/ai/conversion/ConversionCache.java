@@ -0,0 +1,341 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import smile.data.DataFrame;
+import smile.data.vector.BooleanVector;
+import smile.data.vector.ByteVector;
+import smile.data.vector.CharVector;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.FloatVector;
+import smile.data.vector.IntVector;
+import smile.data.vector.LongVector;
+import smile.data.vector.NullableBooleanVector;
+import smile.data.vector.NullableDoubleVector;
+import smile.data.vector.NullableFloatVector;
+import smile.data.vector.NullableIntVector;
+import smile.data.vector.NullableLongVector;
+import smile.data.vector.NullableShortVector;
+import smile.data.vector.ShortVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Opt-in memo of Tablesaw → Smile / ND4j conversions
+ *
+ * Problem: trying several models on one table converts the same unchanged
+ * data again for every variant.
+ * Solution: remember each result, keyed on the table object and the kind of
+ * conversion, and return it while the table is unchanged.
+ * - Keys hold the table weakly: a table that is no longer used drops out
+ * - Least recently used results are evicted once the cache exceeds its byte
+ *   budget; a result larger than the whole budget is never cached
+ * - {@link #hitCount()}, {@link #missCount()}, {@link #evictionCount()} and
+ *   {@link #staleCount()} show whether the cache is earning its memory
+ *
+ * "Unchanged": Tablesaw has no modification counter, so each lookup compares
+ * a cheap version stamp instead: the column objects, names, types and sizes,
+ * plus a few sampled cells per column. That catches added, removed, replaced
+ * or resized columns and most in-place edits; after editing cells in place,
+ * call {@link #invalidate(Table)} to be sure.
+ *
+ * Cached results are shared, not copied. Treat them as read-only (e.g. use
+ * {@code Standardization.standardizeInPlace(matrix.dup())}).
+ *
+ * Usage:
+ * <pre>
+ * ConversionCache cache = new ConversionCache(512L &lt;&lt; 20);   // 512 MB
+ * for (ModelVariant variant : variants) {
+ *     DataFrame df = cache.toDataFrame(table);              // converted once
+ *     variant.fit(df);
+ * }
+ * System.out.println(cache);                                // hits / misses / bytes
+ * </pre>
+ */
+public final class ConversionCache {
+
+    private static final int SAMPLED_ROWS = 8;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<Table> collected = new ReferenceQueue<>();
+
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long stale;
+
+    /**
+     * @param maxBytes budget for the cached results, in (estimated) bytes
+     */
+    public ConversionCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * {@link TablesawSmileConverter#toDataFrame(Table)}, memoized.
+     */
+    public DataFrame toDataFrame(Table table) {
+        return get(table, Kind.SMILE, TablesawSmileConverter::toDataFrame, ConversionCache::estimateBytes);
+    }
+
+    /**
+     * {@link TablesawNd4jConverter#toMatrix(Table)}, memoized.
+     */
+    public INDArray toMatrix(Table table) {
+        return toMatrix(table, DataType.DOUBLE);
+    }
+
+    /**
+     * {@link TablesawNd4jConverter#toMatrix(Table, DataType)}, memoized per data type.
+     */
+    public INDArray toMatrix(Table table, DataType dataType) {
+        Kind kind = dataType == DataType.FLOAT ? Kind.ND4J_FLOAT : Kind.ND4J_DOUBLE;
+        return get(table, kind, t -> TablesawNd4jConverter.toMatrix(t, dataType),
+                m -> m.length() * m.dataType().width());
+    }
+
+    /**
+     * Drop every cached result for the table.
+     */
+    public synchronized void invalidate(Table table) {
+        for (Kind kind : Kind.values()) {
+            Key probe = new Key(table, kind, null);
+            Entry entry = entries.remove(probe);
+            if (entry != null) {
+                bytes -= entry.bytes;
+            }
+            probe.clear();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Estimated bytes held by the cached results.
+     */
+    public synchronized long bytes() {
+        purgeCollected();
+        return bytes;
+    }
+
+    public synchronized int size() {
+        purgeCollected();
+        return entries.size();
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Lookups that had to convert, including stale ones.
+     */
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    /**
+     * Results dropped to stay within the byte budget.
+     */
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Lookups that found a result for an earlier version of the table.
+     */
+    public synchronized long staleCount() {
+        return stale;
+    }
+
+    public synchronized double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    private <T> T get(Table table, Kind kind, Function<Table, T> convert, ToLongFunction<T> size) {
+        long version = version(table);
+        synchronized (this) {
+            purgeCollected();
+            Key probe = new Key(table, kind, null);
+            Entry entry = entries.get(probe);
+            probe.clear();
+            if (entry != null) {
+                if (entry.version == version) {
+                    hits++;
+                    @SuppressWarnings("unchecked")
+                    T value = (T) entry.value;
+                    return value;
+                }
+                stale++;
+                entries.remove(entry.key);
+                bytes -= entry.bytes;
+            }
+            misses++;
+        }
+
+        // Convert outside the lock; two threads missing on the same table both convert, the last one is kept
+        T value = convert.apply(table);
+        long valueBytes = size.applyAsLong(value);
+        if (valueBytes <= maxBytes) {
+            synchronized (this) {
+                Key key = new Key(table, kind, collected);
+                Entry previous = entries.put(key, new Entry(key, value, valueBytes, version));
+                if (previous != null) {
+                    bytes -= previous.bytes;
+                }
+                bytes += valueBytes;
+                evictToBudget();
+            }
+        }
+        return value;
+    }
+
+    private void evictToBudget() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private void purgeCollected() {
+        Reference<? extends Table> ref;
+        while ((ref = collected.poll()) != null) {
+            Entry entry = entries.remove((Key) ref);
+            if (entry != null) {
+                bytes -= entry.bytes;
+            }
+        }
+    }
+
+    /**
+     * Version stamp of a table: column identities, names, types and sizes,
+     * plus {@value #SAMPLED_ROWS} evenly spaced cells per column.
+     */
+    static long version(Table table) {
+        long h = table.rowCount() * 31L + table.columnCount();
+        int rows = table.rowCount();
+        for (int j = 0; j < table.columnCount(); j++) {
+            Column<?> col = table.column(j);
+            h = h * 31 + System.identityHashCode(col);
+            h = h * 31 + col.name().hashCode();
+            h = h * 31 + col.type().hashCode();
+            h = h * 31 + col.size();
+            for (int s = 0; s < SAMPLED_ROWS && rows > 0; s++) {
+                int i = (int) ((long) s * (rows - 1) / Math.max(1, SAMPLED_ROWS - 1));
+                h = h * 31 + (col instanceof NumericColumn
+                        ? Double.hashCode(((NumericColumn<?>) col).getDouble(i))
+                        : col.getString(i).hashCode());
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Heap estimate of a DataFrame: primitive widths, 16 bytes per object value.
+     */
+    static long estimateBytes(DataFrame df) {
+        long total = 0;
+        for (int j = 0; j < df.ncol(); j++) {
+            ValueVector v = df.column(j);
+            int width;
+            if (v instanceof DoubleVector || v instanceof NullableDoubleVector
+                    || v instanceof LongVector || v instanceof NullableLongVector) {
+                width = 8;
+            } else if (v instanceof IntVector || v instanceof NullableIntVector
+                    || v instanceof FloatVector || v instanceof NullableFloatVector) {
+                width = 4;
+            } else if (v instanceof ShortVector || v instanceof NullableShortVector || v instanceof CharVector) {
+                width = 2;
+            } else if (v instanceof ByteVector) {
+                width = 1;
+            } else if (v instanceof BooleanVector || v instanceof NullableBooleanVector) {
+                width = 1; // bit set, rounded up to keep the estimate conservative
+            } else {
+                width = 16;
+            }
+            total += (long) v.size() * width;
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ConversionCache[%d entries, %d / %d bytes, hits=%d, misses=%d (stale %d), evictions=%d]",
+                entries.size(), bytes, maxBytes, hits, misses, stale, evictions);
+    }
+
+    private enum Kind {
+        SMILE, ND4J_DOUBLE, ND4J_FLOAT
+    }
+
+    /**
+     * Weak identity key: equal only to a key for the same table object and kind.
+     */
+    private static final class Key extends WeakReference<Table> {
+        private final Kind kind;
+        private final int hash;
+
+        Key(Table table, Kind kind, ReferenceQueue<Table> queue) {
+            super(table, queue);
+            this.kind = kind;
+            this.hash = System.identityHashCode(table) * 31 + kind.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            Table table = get();
+            return table != null && kind == other.kind && table == other.get();
+        }
+    }
+
+    private static final class Entry {
+        final Key key;
+        final Object value;
+        final long bytes;
+        final long version;
+
+        Entry(Key key, Object value, long bytes, long version) {
+            this.key = key;
+            this.value = value;
+            this.bytes = bytes;
+            this.version = version;
+        }
+    }
+}
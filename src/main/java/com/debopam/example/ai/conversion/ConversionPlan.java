@@ -0,0 +1,186 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import smile.data.DataFrame;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion plan compiled once per table schema
+ *
+ * Problem: the converters re-check every column's type on every call. For a
+ * streaming job that converts thousands of same-shaped batches, that work is
+ * repeated for nothing.
+ * Solution: resolve the schema once into one kernel per column and target.
+ * The kernels are the converters' own (TablesawNd4jConverter.kernel,
+ * TablesawSmileConverter.kernel), so applying the plan is just "for each
+ * column, run its kernel".
+ *
+ * Plans are cached by schema fingerprint (column names and types, in order),
+ * so {@link #of(Table)} on the next batch is a map lookup. The cache keeps at
+ * most {@value #MAX_CACHED_PLANS} schemas; beyond that plans are compiled but
+ * not cached.
+ *
+ * Usage:
+ * <pre>
+ * for (Table batch : batches) {
+ *     INDArray features = ConversionPlan.of(batch).toMatrix(batch);
+ * }
+ * </pre>
+ *
+ * Results are identical to {@link TablesawNd4jConverter} and
+ * {@link TablesawSmileConverter}.
+ */
+public final class ConversionPlan {
+
+    /**
+     * Upper bound on cached schemas.
+     */
+    public static final int MAX_CACHED_PLANS = 256;
+
+    private static final ConcurrentHashMap<String, ConversionPlan> CACHE = new ConcurrentHashMap<>();
+
+    private final String fingerprint;
+    private final String[] names;
+    private final ColumnType[] types;
+    private final TablesawNd4jConverter.ColumnKernel[] nd4jKernels;
+    private final TablesawSmileConverter.ColumnKernel[] smileKernels;
+
+    private ConversionPlan(Table schema) {
+        int cols = schema.columnCount();
+        this.fingerprint = fingerprint(schema);
+        this.names = new String[cols];
+        this.types = new ColumnType[cols];
+        this.nd4jKernels = new TablesawNd4jConverter.ColumnKernel[cols];
+        this.smileKernels = new TablesawSmileConverter.ColumnKernel[cols];
+        for (int j = 0; j < cols; j++) {
+            Column<?> col = schema.column(j);
+            names[j] = col.name();
+            types[j] = col.type();
+            nd4jKernels[j] = TablesawNd4jConverter.kernel(col);
+            smileKernels[j] = TablesawSmileConverter.kernel(col);
+        }
+    }
+
+    /**
+     * The cached plan for this table's schema, compiling it on first use.
+     */
+    public static ConversionPlan of(Table table) {
+        String key = fingerprint(table);
+        ConversionPlan plan = CACHE.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        plan = new ConversionPlan(table);
+        if (CACHE.size() < MAX_CACHED_PLANS) {
+            ConversionPlan existing = CACHE.putIfAbsent(key, plan);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Compile a plan without touching the cache.
+     */
+    public static ConversionPlan compile(Table table) {
+        return new ConversionPlan(table);
+    }
+
+    /**
+     * Schema key: column names and types, in order.
+     */
+    public static String fingerprint(Table table) {
+        StringBuilder key = new StringBuilder();
+        for (int j = 0; j < table.columnCount(); j++) {
+            Column<?> col = table.column(j);
+            key.append(col.name()).append(':').append(col.type().name()).append('\u0000');
+        }
+        return key.toString();
+    }
+
+    public static int cachedPlanCount() {
+        return CACHE.size();
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    public int columnCount() {
+        return names.length;
+    }
+
+    /**
+     * Same result as {@link TablesawNd4jConverter#toMatrix(Table)}.
+     *
+     * @throws IllegalArgumentException if the table does not match the plan's
+     *                                  schema, or a column is not numeric
+     */
+    public INDArray toMatrix(Table table) {
+        requireSchema(table);
+        int rows = table.rowCount();
+        int cols = names.length;
+        if (rows == 0 || cols == 0) {
+            TablesawNd4jConverter.requireNumeric(table);
+            return Nd4j.create(DataType.DOUBLE, rows, cols);
+        }
+
+        INDArray matrix = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, cols}, 'f');
+        double[] scratch = new double[rows];
+        for (int j = 0; j < cols; j++) {
+            nd4jKernels[j].copy(table.column(j), 0, rows, scratch, 0, 1);
+            NativeBuffers.doubles(matrix, (long) j * rows, rows).put(scratch, 0, rows);
+        }
+        return matrix;
+    }
+
+    /**
+     * Same result as {@link TablesawSmileConverter#toDataFrame(Table)}.
+     */
+    public DataFrame toDataFrame(Table table) {
+        return toDataFrame(table, null);
+    }
+
+    /**
+     * Same result as {@link TablesawSmileConverter#toDataFrame(Table, NominalDictionaryRegistry)}.
+     *
+     * @throws IllegalArgumentException if the table does not match the plan's schema
+     */
+    public DataFrame toDataFrame(Table table, NominalDictionaryRegistry registry) {
+        requireSchema(table);
+        ValueVector[] vectors = new ValueVector[names.length];
+        for (int j = 0; j < vectors.length; j++) {
+            vectors[j] = smileKernels[j].convert(table.column(j), registry);
+        }
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Cheap per-call check: one name and type comparison per column.
+     */
+    private void requireSchema(Table table) {
+        if (table.columnCount() != names.length) {
+            throw new IllegalArgumentException("Table has " + table.columnCount()
+                    + " columns but the plan was compiled for " + names.length);
+        }
+        for (int j = 0; j < names.length; j++) {
+            Column<?> col = table.column(j);
+            if (!col.type().equals(types[j]) || !col.name().equals(names[j])) {
+                throw new IllegalArgumentException("Column " + j + " is '" + col.name() + "' " + col.type()
+                        + " but the plan expects '" + names[j] + "' " + types[j]);
+            }
+        }
+    }
+}
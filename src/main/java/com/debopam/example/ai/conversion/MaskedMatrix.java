@@ -0,0 +1,50 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import smile.data.DataFrame;
+
+/**
+ * A converted matrix together with the {@link ValidityMask} of its cells.
+ * Missing cells hold NaN in the matrix; the mask says which ones they are
+ * without scanning for them.
+ */
+public final class MaskedMatrix {
+
+    private final INDArray matrix;
+    private final ValidityMask mask;
+    private final String[] columnNames;
+
+    public MaskedMatrix(INDArray matrix, ValidityMask mask, String[] columnNames) {
+        if (matrix.rows() != mask.rows() || matrix.columns() != mask.columns()) {
+            throw new IllegalArgumentException("Mask is " + mask.rows() + " x " + mask.columns()
+                    + " but the matrix is " + matrix.rows() + " x " + matrix.columns());
+        }
+        if (columnNames.length != mask.columns()) {
+            throw new IllegalArgumentException(
+                    "Matrix has " + mask.columns() + " columns but " + columnNames.length + " names were given");
+        }
+        this.matrix = matrix;
+        this.mask = mask;
+        this.columnNames = columnNames.clone();
+    }
+
+    public INDArray matrix() {
+        return matrix;
+    }
+
+    public ValidityMask mask() {
+        return mask;
+    }
+
+    public String[] columnNames() {
+        return columnNames.clone();
+    }
+
+    /**
+     * Smile DataFrame with the mask as null masks (NullableDoubleVectors for
+     * columns with missing values).
+     */
+    public DataFrame toDataFrame() {
+        return Nd4jSmileConverter.toDataFrame(matrix, columnNames, mask);
+    }
+}
@@ -0,0 +1,56 @@
+package com.debopam.example.ai.conversion;
+
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Helper: direct NIO windows over the native memory behind an INDArray
+ *
+ * Concept: ND4j keeps its data off-heap. A java.nio buffer pointing at that
+ * memory lets us move whole columns with one bulk copy instead of calling
+ * putScalar/getDouble (one native call) per element.
+ *
+ * NIO buffers are int-indexed, so each window is limited to 2^31 - 1 elements;
+ * callers open one window per column, which keeps matrices of any size usable.
+ */
+final class NativeBuffers {
+
+    private NativeBuffers() {
+    }
+
+    /**
+     * Window of {@code length} doubles starting {@code offset} elements into
+     * the array's buffer. The array must be a DOUBLE array that owns its buffer.
+     */
+    static DoubleBuffer doubles(INDArray array, long offset, int length) {
+        requireOwnedBuffer(array, DataType.DOUBLE);
+        DoublePointer pointer = new DoublePointer(array.data().addressPointer());
+        pointer.position(offset).limit(offset + length);
+        return pointer.asByteBuffer().order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    /**
+     * Window of {@code length} floats; FLOAT counterpart of {@link #doubles}.
+     */
+    static FloatBuffer floats(INDArray array, long offset, int length) {
+        requireOwnedBuffer(array, DataType.FLOAT);
+        FloatPointer pointer = new FloatPointer(array.data().addressPointer());
+        pointer.position(offset).limit(offset + length);
+        return pointer.asByteBuffer().order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    private static void requireOwnedBuffer(INDArray array, DataType type) {
+        if (array.dataType() != type) {
+            throw new IllegalArgumentException("Expected " + type + " array, got " + array.dataType());
+        }
+        if (array.isView()) {
+            throw new IllegalArgumentException("Array is a view; call dup() before bulk access");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import smile.data.DataFrame;
+import smile.data.vector.NullableDoubleVector;
+import smile.data.vector.ValueVector;
+
+import java.util.BitSet;
+
+/**
+ * Bulk ND4j → Smile conversion
+ *
+ * Concept: getDouble(i, j) is one native call plus index arithmetic per
+ * element. Instead, bring the matrix into column-major ('f') layout, where
+ * every column is one contiguous run of native memory, and copy each column
+ * into its Smile vector with a single bulk read.
+ *
+ * A DOUBLE 'f' order matrix is read in place. A DOUBLE 'c' order matrix is
+ * read a block of rows at a time, and its columns are gathered out of each
+ * block. Anything else (views, other data types) is first copied once,
+ * natively, into 'f' layout.
+ *
+ * Float32 mode: {@code toDataFrame(array, names, DataType.FLOAT)} produces
+ * FloatVectors and reads FLOAT arrays without widening them, halving both the
+ * native read and the heap footprint. DOUBLE input is rounded to the nearest
+ * float (about 7 significant digits; see {@link TablesawNd4jConverter}).
+ */
+public final class Nd4jSmileConverter {
+
+    private static final int ROW_BLOCK_ELEMENTS = 1 << 16;
+
+    private Nd4jSmileConverter() {
+    }
+
+    /**
+     * Convert a rows × cols matrix into a Smile DataFrame of double columns.
+     */
+    public static DataFrame toDataFrame(INDArray array, String[] colNames) {
+        return toDataFrame(array, colNames, DataType.DOUBLE);
+    }
+
+    /**
+     * Convert a matrix into Smile columns of the given type.
+     *
+     * @param dataType DOUBLE for DoubleVectors, FLOAT for FloatVectors
+     */
+    public static DataFrame toDataFrame(INDArray array, String[] colNames, DataType dataType) {
+        if (dataType != DataType.DOUBLE && dataType != DataType.FLOAT) {
+            throw new IllegalArgumentException("Unsupported data type: " + dataType);
+        }
+        if (array.rank() != 2) {
+            throw new IllegalArgumentException("Expected a 2D array, got rank " + array.rank());
+        }
+        int rows = (int) array.rows();
+        int cols = (int) array.columns();
+        if (colNames.length != cols) {
+            throw new IllegalArgumentException(
+                    "Array has " + cols + " columns but " + colNames.length + " names were given");
+        }
+
+        ValueVector[] vectors = new ValueVector[cols];
+        if (dataType == DataType.DOUBLE && isRowMajor(array) && rows > 0) {
+            double[][] columns = rowMajorColumns(array, rows, cols);
+            for (int j = 0; j < cols; j++) {
+                vectors[j] = ValueVector.of(colNames[j], columns[j]);
+            }
+            return new DataFrame(vectors);
+        }
+
+        INDArray source = columnMajor(array, dataType);
+        for (int j = 0; j < cols; j++) {
+            vectors[j] = dataType == DataType.FLOAT
+                    ? ValueVector.of(colNames[j], floatColumn(source, j, rows))
+                    : ValueVector.of(colNames[j], column(source, j, rows));
+        }
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Convert a matrix into double columns, marking the mask's missing cells
+     * as nulls: columns with missing values become NullableDoubleVectors, so
+     * Smile's {@code isNullAt} / {@code getNullCount} see them.
+     */
+    public static DataFrame toDataFrame(INDArray array, String[] colNames, ValidityMask mask) {
+        if (mask.rows() != array.rows() || mask.columns() != array.columns()) {
+            throw new IllegalArgumentException("Mask is " + mask.rows() + " x " + mask.columns()
+                    + " but the array is " + array.rows() + " x " + array.columns());
+        }
+        if (!mask.anyMissing()) {
+            return toDataFrame(array, colNames);
+        }
+        if (colNames.length != mask.columns()) {
+            throw new IllegalArgumentException(
+                    "Array has " + mask.columns() + " columns but " + colNames.length + " names were given");
+        }
+        int rows = mask.rows();
+        int cols = mask.columns();
+        double[][] columns;
+        if (isRowMajor(array)) {
+            columns = rowMajorColumns(array, rows, cols);
+        } else {
+            INDArray source = columnMajor(array);
+            columns = new double[cols][];
+            for (int j = 0; j < cols; j++) {
+                columns[j] = column(source, j, rows);
+            }
+        }
+        ValueVector[] vectors = new ValueVector[cols];
+        for (int j = 0; j < cols; j++) {
+            BitSet nulls = mask.nullMask(j);
+            vectors[j] = nulls == null
+                    ? ValueVector.of(colNames[j], columns[j])
+                    : new NullableDoubleVector(colNames[j], columns[j], nulls);
+        }
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * The array itself if it is already a DOUBLE 'f' order array owning its
+     * buffer, otherwise a native copy in that layout.
+     */
+    static INDArray columnMajor(INDArray array) {
+        return columnMajor(array, DataType.DOUBLE);
+    }
+
+    /**
+     * As {@link #columnMajor(INDArray)}, for DOUBLE or FLOAT.
+     */
+    static INDArray columnMajor(INDArray array, DataType dataType) {
+        INDArray source = array.dataType() == dataType ? array : array.castTo(dataType);
+        if (isColumnMajor(source)) {
+            return source;
+        }
+        return source.dup('f');
+    }
+
+    /**
+     * Column {@code j} of a matrix returned by {@link #columnMajor(INDArray)}.
+     */
+    static double[] column(INDArray columnMajor, int j, int rows) {
+        double[] column = new double[rows];
+        if (rows > 0) {
+            NativeBuffers.doubles(columnMajor, (long) j * rows, rows).get(column);
+        }
+        return column;
+    }
+
+    /**
+     * True if the array is an 'f' order matrix owning its buffer, so columns
+     * can be read through {@link NativeBuffers} windows.
+     */
+    static boolean isColumnMajor(INDArray array) {
+        return array.ordering() == 'f' && !array.isView()
+                && array.stride(0) == 1 && array.stride(1) == array.rows();
+    }
+
+    /**
+     * True if the array is a DOUBLE 'c' order matrix owning its buffer.
+     */
+    static boolean isRowMajor(INDArray array) {
+        return array.dataType() == DataType.DOUBLE && array.ordering() == 'c' && !array.isView()
+                && array.stride(1) == 1 && array.stride(0) == array.columns();
+    }
+
+    /**
+     * Columns of a row-major matrix without a native transpose: read a block
+     * of rows into the heap, then gather each column out of it (stride =
+     * column count) with {@link VectorKernels#gather}.
+     */
+    static double[][] rowMajorColumns(INDArray rowMajor, int rows, int cols) {
+        double[][] columns = new double[cols][rows];
+        int blockRows = Math.max(1, Math.min(rows, ROW_BLOCK_ELEMENTS / cols));
+        double[] block = new double[blockRows * cols];
+        for (int from = 0; from < rows; from += blockRows) {
+            int n = Math.min(blockRows, rows - from);
+            NativeBuffers.doubles(rowMajor, (long) from * cols, n * cols).get(block, 0, n * cols);
+            for (int j = 0; j < cols; j++) {
+                VectorKernels.gather(block, j, cols, columns[j], from, n);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Column {@code j} of a FLOAT matrix returned by {@link #columnMajor(INDArray, DataType)}.
+     */
+    static float[] floatColumn(INDArray columnMajor, int j, int rows) {
+        float[] column = new float[rows];
+        if (rows > 0) {
+            NativeBuffers.floats(columnMajor, (long) j * rows, rows).get(column);
+        }
+        return column;
+    }
+}
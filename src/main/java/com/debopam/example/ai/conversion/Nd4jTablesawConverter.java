@@ -0,0 +1,51 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.Table;
+
+/**
+ * ND4j → Tablesaw conversion
+ *
+ * Concept: the reverse of {@link TablesawNd4jConverter}. Each matrix column
+ * is read from native memory in one bulk copy and wrapped as a Tablesaw
+ * column, with no per-cell getDouble(i, j) calls.
+ *
+ * FLOAT matrices become FloatColumns; every other type becomes DoubleColumns.
+ */
+public final class Nd4jTablesawConverter {
+
+    private Nd4jTablesawConverter() {
+    }
+
+    /**
+     * Convert a rows × cols matrix into a table with the given column names.
+     */
+    public static Table toTable(INDArray array, String[] colNames, String tableName) {
+        if (array.rank() != 2) {
+            throw new IllegalArgumentException("Expected a 2D array, got rank " + array.rank());
+        }
+        int rows = (int) array.rows();
+        int cols = (int) array.columns();
+        if (colNames.length != cols) {
+            throw new IllegalArgumentException(
+                    "Array has " + cols + " columns but " + colNames.length + " names were given");
+        }
+
+        Table table = Table.create(tableName);
+        if (array.dataType() == DataType.FLOAT) {
+            INDArray source = Nd4jSmileConverter.columnMajor(array, DataType.FLOAT);
+            for (int j = 0; j < cols; j++) {
+                table.addColumns(FloatColumn.create(colNames[j], Nd4jSmileConverter.floatColumn(source, j, rows)));
+            }
+        } else {
+            INDArray source = Nd4jSmileConverter.columnMajor(array);
+            for (int j = 0; j < cols; j++) {
+                table.addColumns(DoubleColumn.create(colNames[j], Nd4jSmileConverter.column(source, j, rows)));
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,123 @@
+package com.debopam.example.ai.conversion;
+
+import smile.data.measure.NominalScale;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only mapping from category strings to stable int codes.
+ *
+ * Codes are handed out in first-seen order and never change, so a level keeps
+ * the same code in every batch encoded with this dictionary. Lookups of known
+ * levels are lock-free; adding a level takes the dictionary's lock.
+ */
+public final class NominalDictionary {
+
+    private final String name;
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile Levels levels = new Levels(new String[8], 0);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    NominalDictionary(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Code for {@code value}, assigning the next free code if it is new.
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            hits.increment();
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                hits.increment();
+                return code;
+            }
+            Levels current = levels;
+            String[] values = current.values;
+            int next = current.size;
+            if (next == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            // Slots past a published size are never read, so the old array
+            // can be filled in place; the volatile write below publishes it
+            values[next] = value;
+            // Publish the level before its code: a lock-free reader that sees
+            // the code must also see a levels snapshot (and scale) that has it
+            levels = new Levels(values, next + 1);
+            codes.put(value, next);
+            misses.increment();
+            return next;
+        }
+    }
+
+    /**
+     * Levels known so far; {@code levels()[code]} is the value for a code.
+     */
+    public String[] levels() {
+        Levels current = levels;
+        return Arrays.copyOf(current.values, current.size);
+    }
+
+    public int size() {
+        return levels.size;
+    }
+
+    /**
+     * Smile scale over the levels known so far. Codes from earlier batches stay
+     * valid because new levels are only ever appended. Built once per level
+     * count, so batches that add no level share one scale.
+     */
+    public NominalScale scale() {
+        Levels current = levels;
+        NominalScale scale = current.scale;
+        if (scale == null) {
+            scale = new NominalScale(Arrays.copyOf(current.values, current.size));
+            current.scale = scale;
+        }
+        return scale;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Fraction of lookups that found an existing level (0 before any lookup).
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * The first {@code size} entries of a shared, geometrically grown array,
+     * with the scale over them once someone asks for it.
+     */
+    private static final class Levels {
+        final String[] values;
+        final int size;
+        volatile NominalScale scale;
+
+        Levels(String[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.debopam.example.ai.conversion;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.IntVector;
+import smile.data.vector.NullableIntVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.columns.strings.DictionaryMap;
+import tech.tablesaw.columns.strings.StringColumnType;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared nominal dictionaries, one per column name
+ *
+ * Problem: ValueVector.nominal() rebuilds (hashes and sorts) the levels on
+ * every conversion, and a batch that happens to lack a level shifts the codes
+ * of every level after it.
+ * Solution: keep one {@link NominalDictionary} per column for the life of the
+ * job. Repeat batches only look up levels they have seen before, and a level's
+ * code never changes.
+ *
+ * Thread-safe: many threads may encode batches through one registry.
+ *
+ * Usage:
+ * <pre>
+ * NominalDictionaryRegistry registry = new NominalDictionaryRegistry();
+ * DataFrame hour1 = TablesawSmileConverter.toDataFrame(batch1, registry);
+ * DataFrame hour2 = TablesawSmileConverter.toDataFrame(batch2, registry);  // same codes
+ * </pre>
+ */
+public final class NominalDictionaryRegistry {
+
+    private static final int UNSEEN = -1;
+    private static final int MISSING = -2;
+
+    private final ConcurrentHashMap<String, NominalDictionary> dictionaries = new ConcurrentHashMap<>();
+
+    /**
+     * The dictionary for a column, created empty on first use.
+     */
+    public NominalDictionary dictionary(String columnName) {
+        return dictionaries.computeIfAbsent(columnName, NominalDictionary::new);
+    }
+
+    public Collection<NominalDictionary> dictionaries() {
+        return Collections.unmodifiableCollection(dictionaries.values());
+    }
+
+    /**
+     * Encode a column in one pass over its rows.
+     *
+     * The registry is consulted once per distinct Tablesaw dictionary key; each
+     * row then costs one primitive int → int lookup. Missing values ("") are
+     * masked and never become a level.
+     */
+    public ValueVector encode(StringColumn col) {
+        NominalDictionary dictionary = dictionary(col.name());
+        DictionaryMap tablesawDictionary = col.getDictionary();
+        int n = col.size();
+
+        Int2IntOpenHashMap keyToCode = new Int2IntOpenHashMap();
+        keyToCode.defaultReturnValue(UNSEEN);
+        int[] codes = new int[n];
+        BitSet mask = null;
+
+        for (int i = 0; i < n; i++) {
+            int key = tablesawDictionary.getKeyForIndex(i);
+            int code = keyToCode.get(key);
+            if (code == UNSEEN) {
+                String value = tablesawDictionary.getValueForKey(key);
+                code = StringColumnType.valueIsMissing(value) ? MISSING : dictionary.encode(value);
+                keyToCode.put(key, code);
+            }
+            if (code == MISSING) {
+                if (mask == null) {
+                    mask = new BitSet();
+                }
+                mask.set(i);
+                codes[i] = -1;
+            } else {
+                codes[i] = code;
+            }
+        }
+
+        if (mask == null) {
+            return new IntVector(new StructField(col.name(), DataTypes.IntType, dictionary.scale()), codes);
+        }
+        return new NullableIntVector(
+                new StructField(col.name(), DataTypes.NullableIntType, dictionary.scale()), codes, mask);
+    }
+
+    /**
+     * Hit rate across all columns.
+     */
+    public double hitRate() {
+        long hits = 0;
+        long total = 0;
+        for (NominalDictionary dictionary : dictionaries.values()) {
+            hits += dictionary.hits();
+            total += dictionary.hits() + dictionary.misses();
+        }
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Forget every dictionary (codes will be reassigned from scratch).
+     */
+    public void clear() {
+        dictionaries.clear();
+    }
+}
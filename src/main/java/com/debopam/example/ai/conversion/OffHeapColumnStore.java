@@ -0,0 +1,117 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.Table;
+
+/**
+ * One copy of a numeric feature matrix, shared by Tablesaw and ND4j
+ *
+ * Concept: the values live once, in a native column-major ('f' order) ND4j
+ * buffer. Each library gets a view of that same memory instead of its own copy:
+ * - ND4j: {@link #matrix()} / {@link #dataBuffer()} are the store itself
+ * - Tablesaw: {@link #column(int)} is a DoubleColumn reading the native column
+ *
+ * Writes through either view are visible to the other, e.g. normalising the
+ * matrix in place updates the Tablesaw columns.
+ *
+ * The Tablesaw views have a fixed size; appending or sorting them throws.
+ * Smile vectors are always backed by heap arrays, so handing the data to Smile
+ * still costs one copy per column.
+ */
+public final class OffHeapColumnStore {
+
+    private final INDArray matrix;
+    private final String[] names;
+    private final int rows;
+
+    private OffHeapColumnStore(INDArray matrix, String[] names) {
+        this.matrix = matrix;
+        this.names = names.clone();
+        this.rows = (int) matrix.rows();
+    }
+
+    /**
+     * Copy a numeric table into native memory (the only copy made).
+     */
+    public static OffHeapColumnStore from(Table table) {
+        String[] names = table.columnNames().toArray(new String[0]);
+        return new OffHeapColumnStore(TablesawNd4jConverter.toMatrix(table), names);
+    }
+
+    /**
+     * Allocate an uninitialised store to be filled in place.
+     */
+    public static OffHeapColumnStore allocate(int rows, String... names) {
+        INDArray matrix = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, names.length}, 'f');
+        return new OffHeapColumnStore(matrix, names);
+    }
+
+    /**
+     * Share an existing matrix. It must be a DOUBLE, 'f' order array that owns
+     * its buffer, so that every column is one contiguous run of memory.
+     */
+    public static OffHeapColumnStore wrap(INDArray matrix, String... names) {
+        if (matrix.rank() != 2 || matrix.ordering() != 'f'
+                || matrix.dataType() != DataType.DOUBLE || matrix.isView()) {
+            throw new IllegalArgumentException(
+                    "Expected a 2D DOUBLE 'f' order array that owns its buffer; use dup('f') first");
+        }
+        if (matrix.columns() != names.length) {
+            throw new IllegalArgumentException(
+                    "Matrix has " + matrix.columns() + " columns but " + names.length + " names were given");
+        }
+        return new OffHeapColumnStore(matrix, names);
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int columnCount() {
+        return names.length;
+    }
+
+    public String[] columnNames() {
+        return names.clone();
+    }
+
+    /**
+     * The store as an ND4j matrix (no copy).
+     */
+    public INDArray matrix() {
+        return matrix;
+    }
+
+    /**
+     * The native buffer behind the matrix (no copy).
+     */
+    public DataBuffer dataBuffer() {
+        return matrix.data();
+    }
+
+    /**
+     * Column {@code j} as a Tablesaw DoubleColumn backed by native memory (no copy).
+     */
+    public DoubleColumn column(int j) {
+        if (rows == 0) {
+            return DoubleColumn.create(names[j]);
+        }
+        return new OffHeapDoubleList(NativeBuffers.doubles(matrix, (long) j * rows, rows), matrix)
+                .toColumn(names[j]);
+    }
+
+    /**
+     * All columns as a Tablesaw table of native-backed views (no copy).
+     */
+    public Table asTable(String tableName) {
+        Table table = Table.create(tableName);
+        for (int j = 0; j < names.length; j++) {
+            table.addColumns(column(j));
+        }
+        return table;
+    }
+}
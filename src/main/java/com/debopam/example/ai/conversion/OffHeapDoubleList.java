@@ -0,0 +1,239 @@
+package com.debopam.example.ai.conversion;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleArrays;
+import it.unimi.dsi.fastutil.doubles.DoubleCollection;
+import it.unimi.dsi.fastutil.doubles.DoubleComparator;
+import it.unimi.dsi.fastutil.doubles.DoubleList;
+import it.unimi.dsi.fastutil.doubles.DoubleListIterator;
+import tech.tablesaw.api.DoubleColumn;
+
+import java.nio.DoubleBuffer;
+import java.util.Collection;
+
+/**
+ * Fixed-size DoubleArrayList whose elements live in a direct DoubleBuffer.
+ *
+ * Tablesaw's DoubleColumn only talks to its data through DoubleArrayList, so
+ * overriding the element accessors is enough to back a column with native
+ * memory. Reads and set() go straight to the buffer; anything that would
+ * change the size throws UnsupportedOperationException.
+ *
+ * {@code owner} is whatever keeps the memory alive (an INDArray, a mapped
+ * file); holding it here stops the buffer from being freed under the column.
+ */
+final class OffHeapDoubleList extends DoubleArrayList {
+
+    private final DoubleBuffer buffer;
+    private final int length;
+    @SuppressWarnings({"unused", "FieldCanBeLocal"})
+    private final Object owner;
+
+    OffHeapDoubleList(DoubleBuffer buffer, Object owner) {
+        super(DoubleArrays.EMPTY_ARRAY, true);
+        this.buffer = buffer.slice();
+        this.length = this.buffer.capacity();
+        this.owner = owner;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        OffHeapLists.checkIndex(index, length);
+        return buffer.get(index);
+    }
+
+    @Override
+    public double set(int index, double value) {
+        OffHeapLists.checkIndex(index, length);
+        double old = buffer.get(index);
+        buffer.put(index, value);
+        return old;
+    }
+
+    @Override
+    public void getElements(int from, double[] a, int offset, int length) {
+        buffer.get(from, a, offset, length);
+    }
+
+    @Override
+    public void setElements(int index, double[] a, int offset, int length) {
+        buffer.put(index, a, offset, length);
+    }
+
+    @Override
+    public double[] toArray(double[] a) {
+        if (a == null || a.length < length) {
+            a = new double[length];
+        }
+        buffer.get(0, a, 0, length);
+        return a;
+    }
+
+    @Override
+    public double[] toDoubleArray() {
+        return toArray((double[]) null);
+    }
+
+    @Override
+    public int indexOf(double k) {
+        for (int i = 0; i < length; i++) {
+            if (Double.doubleToLongBits(buffer.get(i)) == Double.doubleToLongBits(k)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(double k) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (Double.doubleToLongBits(buffer.get(i)) == Double.doubleToLongBits(k)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public DoubleListIterator listIterator(int index) {
+        return new Iterator(index);
+    }
+
+    /**
+     * Copies onto the heap, so DoubleColumn.copy() yields an ordinary column.
+     */
+    @Override
+    public DoubleArrayList clone() {
+        return DoubleArrayList.wrap(toDoubleArray());
+    }
+
+    @Override
+    public boolean equals(DoubleArrayList other) {
+        if (other.size() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Double.doubleToLongBits(buffer.get(i)) != Double.doubleToLongBits(other.getDouble(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public double[] elements() {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean add(double k) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void add(int index, double k) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean addAll(int index, DoubleCollection c) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean addAll(int index, DoubleList l) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void addElements(int index, double[] a, int offset, int length) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public double removeDouble(int index) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean rem(double k) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean removeAll(DoubleCollection c) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void removeElements(int from, int to) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void clear() {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void size(int size) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void sort(DoubleComparator comp) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void unstableSort(DoubleComparator comp) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    /**
+     * A Tablesaw DoubleColumn over this list (no copy).
+     */
+    DoubleColumn toColumn(String name) {
+        return new OffHeapDoubleColumn(name, this);
+    }
+
+    private final class Iterator extends OffHeapLists.Cursor implements DoubleListIterator {
+        Iterator(int index) {
+            super(index, length);
+        }
+
+        @Override
+        public double nextDouble() {
+            return buffer.get(advance());
+        }
+
+        @Override
+        public double previousDouble() {
+            return buffer.get(retreat());
+        }
+    }
+
+    /**
+     * DoubleColumn's data constructor is protected; this subclass only opens it.
+     */
+    private static final class OffHeapDoubleColumn extends DoubleColumn {
+        OffHeapDoubleColumn(String name, OffHeapDoubleList data) {
+            super(name, data);
+        }
+    }
+}
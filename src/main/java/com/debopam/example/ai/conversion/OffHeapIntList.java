@@ -0,0 +1,234 @@
+package com.debopam.example.ai.conversion;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntCollection;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntListIterator;
+import tech.tablesaw.api.IntColumn;
+
+import java.nio.IntBuffer;
+import java.util.Collection;
+
+/**
+ * Fixed-size IntArrayList whose elements live in a direct IntBuffer; the int
+ * counterpart of {@link OffHeapDoubleList}, for backing an IntColumn.
+ *
+ * {@code owner} keeps the memory alive (e.g. a mapped file).
+ */
+final class OffHeapIntList extends IntArrayList {
+
+    private final IntBuffer buffer;
+    private final int length;
+    @SuppressWarnings({"unused", "FieldCanBeLocal"})
+    private final Object owner;
+
+    OffHeapIntList(IntBuffer buffer, Object owner) {
+        super(IntArrays.EMPTY_ARRAY, true);
+        this.buffer = buffer.slice();
+        this.length = this.buffer.capacity();
+        this.owner = owner;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public int getInt(int index) {
+        OffHeapLists.checkIndex(index, length);
+        return buffer.get(index);
+    }
+
+    @Override
+    public int set(int index, int value) {
+        OffHeapLists.checkIndex(index, length);
+        int old = buffer.get(index);
+        buffer.put(index, value);
+        return old;
+    }
+
+    @Override
+    public void getElements(int from, int[] a, int offset, int length) {
+        buffer.get(from, a, offset, length);
+    }
+
+    @Override
+    public void setElements(int index, int[] a, int offset, int length) {
+        buffer.put(index, a, offset, length);
+    }
+
+    @Override
+    public int[] toArray(int[] a) {
+        if (a == null || a.length < length) {
+            a = new int[length];
+        }
+        buffer.get(0, a, 0, length);
+        return a;
+    }
+
+    @Override
+    public int[] toIntArray() {
+        return toArray((int[]) null);
+    }
+
+    @Override
+    public int indexOf(int k) {
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(i) == k) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(int k) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer.get(i) == k) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public IntListIterator listIterator(int index) {
+        return new Iterator(index);
+    }
+
+    /**
+     * Copies onto the heap, so IntColumn.copy() yields an ordinary column.
+     */
+    @Override
+    public IntArrayList clone() {
+        return IntArrayList.wrap(toIntArray());
+    }
+
+    @Override
+    public boolean equals(IntArrayList other) {
+        if (other.size() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(i) != other.getInt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int[] elements() {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean add(int k) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void add(int index, int k) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean addAll(int index, IntCollection c) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean addAll(int index, IntList l) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void addElements(int index, int[] a, int offset, int length) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public int removeInt(int index) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean rem(int k) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean removeAll(IntCollection c) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void removeElements(int from, int to) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void clear() {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void size(int size) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void sort(IntComparator comp) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    @Override
+    public void unstableSort(IntComparator comp) {
+        throw OffHeapLists.fixedSize();
+    }
+
+    /**
+     * A Tablesaw IntColumn over this list (no copy).
+     */
+    IntColumn toColumn(String name) {
+        return new OffHeapIntColumn(name, this);
+    }
+
+    private final class Iterator extends OffHeapLists.Cursor implements IntListIterator {
+        Iterator(int index) {
+            super(index, length);
+        }
+
+        @Override
+        public int nextInt() {
+            return buffer.get(advance());
+        }
+
+        @Override
+        public int previousInt() {
+            return buffer.get(retreat());
+        }
+    }
+
+    /**
+     * IntColumn's data constructor is protected; this subclass only opens it.
+     */
+    private static final class OffHeapIntColumn extends IntColumn {
+        OffHeapIntColumn(String name, OffHeapIntList data) {
+            super(name, data);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.debopam.example.ai.conversion;
+
+import java.util.NoSuchElementException;
+
+/**
+ * What {@link OffHeapDoubleList} and {@link OffHeapIntList} share: the index
+ * and size guards, and the cursor behind their list iterators.
+ *
+ * fastutil specialises every list per primitive type, so the typed accessors
+ * and the size-changing overrides stay in each list; everything that does not
+ * depend on the element type lives here.
+ */
+final class OffHeapLists {
+
+    private OffHeapLists() {
+    }
+
+    static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * Like {@link #checkIndex}, but {@code size} itself is allowed (a cursor
+     * after the last element).
+     */
+    static void checkPosition(int index, int size) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    static UnsupportedOperationException fixedSize() {
+        return new UnsupportedOperationException("Off-heap column views have a fixed size; copy() first");
+    }
+
+    /**
+     * Position bookkeeping of a read-only list iterator; subclasses read the
+     * element at the index {@link #advance()} or {@link #retreat()} returns.
+     */
+    abstract static class Cursor {
+        private final int size;
+        private int pos;
+
+        Cursor(int index, int size) {
+            checkPosition(index, size);
+            this.pos = index;
+            this.size = size;
+        }
+
+        public boolean hasNext() {
+            return pos < size;
+        }
+
+        public boolean hasPrevious() {
+            return pos > 0;
+        }
+
+        public int nextIndex() {
+            return pos;
+        }
+
+        public int previousIndex() {
+            return pos - 1;
+        }
+
+        final int advance() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pos++;
+        }
+
+        final int retreat() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            return --pos;
+        }
+    }
+}
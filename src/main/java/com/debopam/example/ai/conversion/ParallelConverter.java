@@ -0,0 +1,153 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import smile.data.DataFrame;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.Table;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Column-parallel versions of the Tablesaw / ND4j / Smile converters
+ *
+ * Concept: columns convert independently, so a wide table (thousands of
+ * columns) can be split across cores with one task per column. Each task
+ * writes only its own column of the output, so no locking is needed.
+ *
+ * The work runs on a private ForkJoinPool rather than the common pool, so the
+ * parallelism is explicit and does not compete with parallel streams
+ * elsewhere. ND4j runs its own OpenMP threads for native ops; on a shared box
+ * keep {@code parallelism + OMP_NUM_THREADS} at or below the core count.
+ *
+ * Usage:
+ * <pre>
+ * try (ParallelConverter converter = new ParallelConverter(8)) {
+ *     INDArray matrix = converter.toMatrix(wideTable);
+ * }
+ * </pre>
+ */
+public final class ParallelConverter implements AutoCloseable {
+
+    private static final int RUNS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * One worker per available processor.
+     */
+    public ParallelConverter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelConverter(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism, ParallelConverter::newWorker, null, false);
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Parallel {@link TablesawNd4jConverter#toMatrix(Table)}.
+     */
+    public INDArray toMatrix(Table table) {
+        int rows = table.rowCount();
+        int cols = table.columnCount();
+        if (rows == 0 || cols == 0) {
+            TablesawNd4jConverter.requireNumeric(table);
+            return Nd4j.create(DataType.DOUBLE, rows, cols);
+        }
+
+        // Allocated on the caller's thread; workers only write into its memory
+        INDArray matrix = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, cols}, 'f');
+        // A few runs of columns per worker, each with its own scratch array that
+        // dies with the task; nothing stays behind on the pool's threads
+        int runs = Math.min(cols, parallelism() * RUNS_PER_WORKER);
+        forEachIndex(runs, r -> {
+            double[] column = new double[rows];
+            for (int j = (int) ((long) r * cols / runs), end = (int) ((long) (r + 1) * cols / runs); j < end; j++) {
+                TablesawNd4jConverter.copyColumn(table.column(j), column);
+                NativeBuffers.doubles(matrix, (long) j * rows, rows).put(column, 0, rows);
+            }
+        });
+        return matrix;
+    }
+
+    /**
+     * Parallel {@link TablesawSmileConverter#toDataFrame(Table)}.
+     */
+    public DataFrame toDataFrame(Table table) {
+        return toDataFrame(table, null);
+    }
+
+    /**
+     * Parallel {@link TablesawSmileConverter#toDataFrame(Table, NominalDictionaryRegistry)}.
+     */
+    public DataFrame toDataFrame(Table table, NominalDictionaryRegistry registry) {
+        ValueVector[] vectors = new ValueVector[table.columnCount()];
+        forEachIndex(vectors.length, j -> vectors[j] = TablesawSmileConverter.toVector(table.column(j), registry));
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Parallel {@link Nd4jSmileConverter#toDataFrame(INDArray, String[])}.
+     */
+    public DataFrame toDataFrame(INDArray array, String[] colNames) {
+        int rows = (int) array.rows();
+        int cols = (int) array.columns();
+        if (colNames.length != cols) {
+            throw new IllegalArgumentException(
+                    "Array has " + cols + " columns but " + colNames.length + " names were given");
+        }
+
+        ValueVector[] vectors = new ValueVector[cols];
+        if (Nd4jSmileConverter.isRowMajor(array) && rows > 0) {
+            // Same as the sequential converter: gather the columns block by
+            // block instead of duplicating the whole matrix in 'f' order
+            double[][] columns = Nd4jSmileConverter.rowMajorColumns(array, rows, cols);
+            for (int j = 0; j < cols; j++) {
+                vectors[j] = ValueVector.of(colNames[j], columns[j]);
+            }
+            return new DataFrame(vectors);
+        }
+
+        INDArray source = Nd4jSmileConverter.columnMajor(array);
+        forEachIndex(cols, j -> vectors[j] = ValueVector.of(colNames[j], Nd4jSmileConverter.column(source, j, rows)));
+        return new DataFrame(vectors);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Runs {@code task} for 0 .. count - 1 on the pool and waits.
+     */
+    private void forEachIndex(int count, IntConsumer task) {
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(task)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during parallel conversion", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("conversion-worker-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,136 @@
+package com.debopam.example.ai.conversion;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of {@link VectorKernels}; loaded reflectively,
+ * only when {@code jdk.incubator.vector} is in the boot layer.
+ *
+ * Every loop works in the preferred double species (4 lanes on AVX2, 8 on
+ * AVX-512). Ints and floats use the half-width species with the same lane
+ * count, so conversions map lane to lane. Tails go to the scalar kernels.
+ * Bounds are checked by the facade.
+ */
+final class SimdKernels implements VectorKernels.Impl {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final VectorSpecies<Float> FLOATS =
+            VectorSpecies.of(float.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final int LANES = DOUBLES.length();
+
+    private final VectorKernels.Scalar scalar = new VectorKernels.Scalar();
+    private static final int CACHED_STRIDES = 64;
+
+    /**
+     * Built up front and held in a final field, so every thread sees them
+     * fully written.
+     */
+    private final int[][] strideMaps = new int[CACHED_STRIDES][];
+
+    SimdKernels() {
+        if (LANES < 2) {
+            throw new UnsupportedOperationException("No SIMD registers wider than one double");
+        }
+        for (int stride = 1; stride < CACHED_STRIDES; stride++) {
+            strideMaps[stride] = newStrideMap(stride);
+        }
+    }
+
+    @Override
+    public void widen(int[] src, int srcOffset, double[] dst, int dstOffset, int length, int missing) {
+        int bound = DOUBLES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += LANES) {
+            IntVector ints = IntVector.fromArray(INTS, src, srcOffset + k);
+            DoubleVector doubles = (DoubleVector) ints.convertShape(VectorOperators.I2D, DOUBLES, 0);
+            VectorMask<Integer> isMissing = ints.eq(missing);
+            if (isMissing.anyTrue()) {
+                doubles = doubles.blend(Double.NaN, isMissing.cast(DOUBLES));
+            }
+            doubles.intoArray(dst, dstOffset + k);
+        }
+        scalar.widen(src, srcOffset + k, dst, dstOffset + k, length - k, missing);
+    }
+
+    @Override
+    public void narrow(double[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+        int bound = DOUBLES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += LANES) {
+            DoubleVector doubles = DoubleVector.fromArray(DOUBLES, src, srcOffset + k);
+            ((FloatVector) doubles.convertShape(VectorOperators.D2F, FLOATS, 0)).intoArray(dst, dstOffset + k);
+        }
+        scalar.narrow(src, srcOffset + k, dst, dstOffset + k, length - k);
+    }
+
+    @Override
+    public void scaledCopy(double[] src, int srcOffset, double[] dst, int dstOffset, int length,
+                           double shift, double scale) {
+        int bound = DOUBLES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += LANES) {
+            DoubleVector.fromArray(DOUBLES, src, srcOffset + k).sub(shift).div(scale).intoArray(dst, dstOffset + k);
+        }
+        scalar.scaledCopy(src, srcOffset + k, dst, dstOffset + k, length - k, shift, scale);
+    }
+
+    @Override
+    public void gather(double[] src, int srcOffset, int stride, double[] dst, int dstOffset, int length) {
+        int bound = DOUBLES.loopBound(length);
+        int k = 0;
+        if (bound > 0) {
+            int[] map = strideMap(stride);
+            for (; k < bound; k += LANES) {
+                DoubleVector.fromArray(DOUBLES, src, srcOffset + k * stride, map, 0).intoArray(dst, dstOffset + k);
+            }
+        }
+        scalar.gather(src, srcOffset + k * stride, stride, dst, dstOffset + k, length - k);
+    }
+
+    @Override
+    public void multiply(double[] a, int aOffset, int[] b, int bOffset, double[] dst, int dstOffset, int length,
+                         int missing) {
+        int bound = DOUBLES.loopBound(length);
+        int k = 0;
+        for (; k < bound; k += LANES) {
+            IntVector ints = IntVector.fromArray(INTS, b, bOffset + k);
+            DoubleVector product = DoubleVector.fromArray(DOUBLES, a, aOffset + k)
+                    .mul((DoubleVector) ints.convertShape(VectorOperators.I2D, DOUBLES, 0));
+            VectorMask<Integer> isMissing = ints.eq(missing);
+            if (isMissing.anyTrue()) {
+                product = product.blend(Double.NaN, isMissing.cast(DOUBLES));
+            }
+            product.intoArray(dst, dstOffset + k);
+        }
+        scalar.multiply(a, aOffset + k, b, bOffset + k, dst, dstOffset + k, length - k, missing);
+    }
+
+    @Override
+    public String describe() {
+        return "Vector API, " + DOUBLES.vectorBitSize() + "-bit (" + LANES + " doubles)";
+    }
+
+    /**
+     * Lane offsets {0, stride, 2 * stride, ...}; strides below
+     * {@value #CACHED_STRIDES} come from the cache.
+     */
+    private int[] strideMap(int stride) {
+        return stride < CACHED_STRIDES ? strideMaps[stride] : newStrideMap(stride);
+    }
+
+    private static int[] newStrideMap(int stride) {
+        int[] map = new int[LANES];
+        for (int lane = 0; lane < LANES; lane++) {
+            map[lane] = lane * stride;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,109 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import smile.data.DataFrame;
+import smile.data.vector.ValueVector;
+import smile.math.matrix.Matrix;
+
+/**
+ * Direct Smile ↔ ND4j bridge, without a Tablesaw hop
+ *
+ * Concept: Smile's {@link Matrix} and ND4j's 'f' order arrays are both
+ * column-major, so each column (or the whole matrix) moves in one bulk copy.
+ *
+ * Why not share the buffer? Smile keeps its data in a Java double[] and the
+ * ND4j CPU backend keeps it in native memory; neither can wrap the other, so
+ * one copy is the minimum. {@link #toSmileMatrix(INDArray)} hands its heap
+ * array straight to Smile, so that direction costs exactly one copy.
+ *
+ * Usage:
+ * <pre>
+ * INDArray x = SmileNd4jConverter.toINDArray(df);      // features from a DataFrame
+ * x = Transforms.log(x.addi(1), false);                // engineer in ND4j
+ * Matrix m = SmileNd4jConverter.toSmileMatrix(x);     // model in Smile
+ * </pre>
+ */
+public final class SmileNd4jConverter {
+
+    private SmileNd4jConverter() {
+    }
+
+    /**
+     * Every column of a DataFrame as a rows × cols DOUBLE 'f' order matrix.
+     * Nominal columns contribute their codes; nulls become NaN.
+     */
+    public static INDArray toINDArray(DataFrame df) {
+        int rows = df.nrow();
+        int cols = df.ncol();
+        if (rows == 0 || cols == 0) {
+            return Nd4j.create(DataType.DOUBLE, rows, cols);
+        }
+
+        INDArray matrix = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, cols}, 'f');
+        double[] scratch = new double[rows];
+        for (int j = 0; j < cols; j++) {
+            copyVector(df.column(j), scratch);
+            NativeBuffers.doubles(matrix, (long) j * rows, rows).put(scratch, 0, rows);
+        }
+        return matrix;
+    }
+
+    /**
+     * A Smile matrix as a DOUBLE 'f' order INDArray, one column at a time.
+     */
+    public static INDArray toINDArray(Matrix matrix) {
+        int rows = matrix.nrow();
+        int cols = matrix.ncol();
+        if (rows == 0 || cols == 0) {
+            return Nd4j.create(DataType.DOUBLE, rows, cols);
+        }
+
+        INDArray array = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, cols}, 'f');
+        for (int j = 0; j < cols; j++) {
+            NativeBuffers.doubles(array, (long) j * rows, rows).put(matrix.col(j));
+        }
+        return array;
+    }
+
+    /**
+     * An INDArray as a Smile matrix: one bulk copy into a heap array that
+     * becomes the matrix's own storage.
+     *
+     * @throws IllegalArgumentException if the matrix has 2^31 or more elements
+     *                                  (the limit of a Java array)
+     */
+    public static Matrix toSmileMatrix(INDArray array) {
+        if (array.rank() != 2) {
+            throw new IllegalArgumentException("Expected a 2D array, got rank " + array.rank());
+        }
+        if (array.length() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too large for a Smile matrix: " + array.length() + " elements");
+        }
+        int rows = (int) array.rows();
+        int cols = (int) array.columns();
+        double[] data = new double[rows * cols];
+        if (data.length > 0) {
+            INDArray source = Nd4jSmileConverter.columnMajor(array);
+            NativeBuffers.doubles(source, 0, data.length).get(data);
+        }
+        return new Matrix(rows, cols, Math.max(rows, 1), data);
+    }
+
+    /**
+     * Column values as doubles, with nulls as NaN.
+     */
+    static void copyVector(ValueVector vector, double[] dest) {
+        int n = vector.size();
+        if (vector.isNullable()) {
+            for (int i = 0; i < n; i++) {
+                dest[i] = vector.isNullAt(i) ? Double.NaN : vector.getDouble(i);
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                dest[i] = vector.getDouble(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.debopam.example.ai.conversion;
+
+import smile.data.DataFrame;
+import smile.data.measure.NominalScale;
+import smile.data.vector.BooleanVector;
+import smile.data.vector.ByteVector;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.FloatVector;
+import smile.data.vector.IntVector;
+import smile.data.vector.LongVector;
+import smile.data.vector.NullableBooleanVector;
+import smile.data.vector.NullableByteVector;
+import smile.data.vector.NullableDoubleVector;
+import smile.data.vector.NullableFloatVector;
+import smile.data.vector.NullableIntVector;
+import smile.data.vector.NullableLongVector;
+import smile.data.vector.NullableShortVector;
+import smile.data.vector.ShortVector;
+import smile.data.vector.StringVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.booleans.BooleanColumnType;
+import tech.tablesaw.columns.numbers.IntColumnType;
+import tech.tablesaw.columns.numbers.LongColumnType;
+import tech.tablesaw.columns.numbers.ShortColumnType;
+import tech.tablesaw.columns.strings.StringColumnType;
+
+/**
+ * Smile → Tablesaw conversion, for getting model output back into reports
+ *
+ * Concept: read each Smile vector once through its primitive getter and
+ * build the Tablesaw column from a primitive array; no boxed values, no
+ * per-row table appends.
+ *
+ * Smile vector                     → Tablesaw column
+ * - DoubleVector / FloatVector     → DoubleColumn / FloatColumn
+ * - Int/Long/ShortVector           → Int/Long/ShortColumn
+ * - ByteVector                     → ShortColumn (Tablesaw has no byte column)
+ * - BooleanVector                  → BooleanColumn
+ * - Int/Short/ByteVector with a NominalScale → StringColumn of the level names
+ *   (ValueVector.nominal(...) gives a ByteVector for under 128 levels)
+ * - StringVector                   → StringColumn
+ *
+ * Nulls in Nullable*Vectors become Tablesaw missing values. Dates converted
+ * by {@link TablesawSmileConverter} come back as their numeric encoding (the
+ * Smile side does not record that they were dates).
+ */
+public final class SmileTablesawConverter {
+
+    private SmileTablesawConverter() {
+    }
+
+    public static Table toTable(DataFrame df, String tableName) {
+        Table table = Table.create(tableName);
+        for (int j = 0; j < df.ncol(); j++) {
+            table.addColumns(toColumn(df.column(j)));
+        }
+        return table;
+    }
+
+    /**
+     * Convert one vector.
+     *
+     * @throws IllegalArgumentException for vector types without a Tablesaw mapping
+     */
+    public static Column<?> toColumn(ValueVector vector) {
+        if (vector.measure() instanceof NominalScale
+                && (vector instanceof IntVector || vector instanceof NullableIntVector
+                || vector instanceof ShortVector || vector instanceof NullableShortVector
+                || vector instanceof ByteVector || vector instanceof NullableByteVector)) {
+            return nominalColumn(vector, (NominalScale) vector.measure());
+        }
+        if (vector instanceof DoubleVector || vector instanceof NullableDoubleVector) {
+            return doubleColumn(vector);
+        } else if (vector instanceof FloatVector || vector instanceof NullableFloatVector) {
+            return floatColumn(vector);
+        } else if (vector instanceof IntVector || vector instanceof NullableIntVector) {
+            return intColumn(vector);
+        } else if (vector instanceof LongVector || vector instanceof NullableLongVector) {
+            return longColumn(vector);
+        } else if (vector instanceof ShortVector || vector instanceof NullableShortVector
+                || vector instanceof ByteVector || vector instanceof NullableByteVector) {
+            return shortColumn(vector);
+        } else if (vector instanceof BooleanVector || vector instanceof NullableBooleanVector) {
+            return booleanColumn(vector);
+        } else if (vector instanceof StringVector) {
+            return StringColumn.create(vector.name(), ((StringVector) vector).toStringArray());
+        }
+        throw new IllegalArgumentException("No Tablesaw mapping for vector '" + vector.name()
+                + "' of type " + vector.getClass().getSimpleName());
+    }
+
+    private static DoubleColumn doubleColumn(ValueVector vector) {
+        int n = vector.size();
+        double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = vector.isNullAt(i) ? Double.NaN : vector.getDouble(i);
+        }
+        return DoubleColumn.create(vector.name(), data);
+    }
+
+    private static FloatColumn floatColumn(ValueVector vector) {
+        int n = vector.size();
+        float[] data = new float[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = vector.isNullAt(i) ? Float.NaN : vector.getFloat(i);
+        }
+        return FloatColumn.create(vector.name(), data);
+    }
+
+    private static IntColumn intColumn(ValueVector vector) {
+        int n = vector.size();
+        int[] data = new int[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = vector.isNullAt(i) ? IntColumnType.missingValueIndicator() : vector.getInt(i);
+        }
+        return IntColumn.create(vector.name(), data);
+    }
+
+    private static LongColumn longColumn(ValueVector vector) {
+        int n = vector.size();
+        long[] data = new long[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = vector.isNullAt(i) ? LongColumnType.missingValueIndicator() : vector.getLong(i);
+        }
+        return LongColumn.create(vector.name(), data);
+    }
+
+    private static ShortColumn shortColumn(ValueVector vector) {
+        int n = vector.size();
+        short[] data = new short[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = vector.isNullAt(i) ? ShortColumnType.missingValueIndicator() : vector.getShort(i);
+        }
+        return ShortColumn.create(vector.name(), data);
+    }
+
+    private static BooleanColumn booleanColumn(ValueVector vector) {
+        int n = vector.size();
+        BooleanColumn column = BooleanColumn.create(vector.name());
+        for (int i = 0; i < n; i++) {
+            if (vector.isNullAt(i)) {
+                column.append(BooleanColumnType.MISSING_VALUE);
+            } else {
+                column.append(vector.getBoolean(i) ? BooleanColumnType.BYTE_TRUE : BooleanColumnType.BYTE_FALSE);
+            }
+        }
+        return column;
+    }
+
+    /**
+     * Codes → level names through a code-indexed array, so each row is one
+     * array read; every row of a level shares the same String instance.
+     */
+    private static StringColumn nominalColumn(ValueVector vector, NominalScale scale) {
+        String[] byCode = levelsByCode(scale);
+        int n = vector.size();
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            if (vector.isNullAt(i)) {
+                values[i] = StringColumnType.missingValueIndicator();
+            } else {
+                int code = vector.getInt(i);
+                values[i] = byCode != null && code >= 0 && code < byCode.length && byCode[code] != null
+                        ? byCode[code]
+                        : scale.level(code);
+            }
+        }
+        return StringColumn.create(vector.name(), values);
+    }
+
+    /**
+     * Level names indexed by code, or null if the codes are not small
+     * non-negative ints (then lookups go through the scale).
+     */
+    private static String[] levelsByCode(NominalScale scale) {
+        int[] codes = scale.values();
+        String[] levels = scale.levels();
+        int max = -1;
+        for (int code : codes) {
+            if (code < 0) {
+                return null;
+            }
+            max = Math.max(max, code);
+        }
+        if (max > 4 * codes.length + 16) {
+            return null;
+        }
+        String[] byCode = new String[max + 1];
+        for (int k = 0; k < codes.length; k++) {
+            byCode[codes[k]] = levels[k];
+        }
+        return byCode;
+    }
+}
@@ -0,0 +1,314 @@
+package com.debopam.example.ai.conversion;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import smile.math.matrix.SparseMatrix;
+import smile.util.SparseArray;
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.util.Arrays;
+
+/**
+ * Sparse (compressed) form of a mostly-zero numeric table
+ *
+ * Problem: one-hot and count features are often 95%+ zeros, but a dense
+ * matrix still spends 8 bytes on every zero and every pass touches them.
+ * Solution: keep only the non-zeros, column by column (CSC: compressed sparse
+ * column), which is both how Tablesaw stores data and the layout of Smile's
+ * {@link SparseMatrix}. Row-wise access (CSR) is derived on demand with one
+ * counting sort, for models that take {@link SparseArray} rows.
+ *
+ * Storage is 12 bytes per non-zero (value + row index) plus 4 bytes per
+ * column, so it beats a dense matrix below about 65% density, and is an order
+ * of magnitude smaller below 5%. Missing values (NaN) are kept as explicit
+ * entries, never dropped as zeros.
+ *
+ * Usage:
+ * <pre>
+ * if (SparseFeatureMatrix.paysOff(table)) {
+ *     SparseFeatureMatrix sparse = SparseFeatureMatrix.from(table);
+ *     sparse.scaleByMaxAbs();
+ *     SparseMatrix x = sparse.toSmileMatrix();
+ * }
+ * </pre>
+ */
+public final class SparseFeatureMatrix {
+
+    /**
+     * Density below which {@link #paysOff(Table)} recommends the sparse form.
+     * Memory wins up to ~65%, but per-entry index work eats the speed gain
+     * well before that.
+     */
+    public static final double DEFAULT_DENSITY_THRESHOLD = 0.25;
+
+    private static final int SAMPLE_ROWS = 10_000;
+
+    private final String[] names;
+    private final int rows;
+    private final int[] colPointers;
+    private final int[] rowIndices;
+    private final double[] values;
+
+    private SparseFeatureMatrix(String[] names, int rows, int[] colPointers, int[] rowIndices, double[] values) {
+        this.names = names;
+        this.rows = rows;
+        this.colPointers = colPointers;
+        this.rowIndices = rowIndices;
+        this.values = values;
+    }
+
+    /**
+     * Compress every column of a numeric table in one pass.
+     *
+     * @throws IllegalArgumentException if a column is not numeric
+     */
+    public static SparseFeatureMatrix from(Table table) {
+        int rows = table.rowCount();
+        int cols = table.columnCount();
+        int[] colPointers = new int[cols + 1];
+        IntArrayList rowIndices = new IntArrayList();
+        DoubleArrayList values = new DoubleArrayList();
+
+        double[] column = new double[rows];
+        for (int j = 0; j < cols; j++) {
+            TablesawNd4jConverter.copyColumn(table.column(j), column);
+            for (int i = 0; i < rows; i++) {
+                if (column[i] != 0.0) {
+                    rowIndices.add(i);
+                    values.add(column[i]);
+                }
+            }
+            colPointers[j + 1] = values.size();
+        }
+
+        return new SparseFeatureMatrix(table.columnNames().toArray(new String[0]), rows, colPointers,
+                rowIndices.toIntArray(), values.toDoubleArray());
+    }
+
+    /**
+     * Non-zero fraction of each column, estimated from up to 10,000 evenly
+     * spaced rows so the check is cheap even on large tables.
+     */
+    public static double[] estimateColumnDensities(Table table) {
+        int rows = table.rowCount();
+        int step = Math.max(1, rows / SAMPLE_ROWS);
+        double[] densities = new double[table.columnCount()];
+        for (int j = 0; j < densities.length; j++) {
+            Column<?> col = table.column(j);
+            if (!(col instanceof NumericColumn)) {
+                throw TablesawNd4jConverter.notNumeric(col);
+            }
+            NumericColumn<?> numeric = (NumericColumn<?>) col;
+            int sampled = 0;
+            int nonZeros = 0;
+            for (int i = 0; i < rows; i += step) {
+                sampled++;
+                if (numeric.getDouble(i) != 0.0) {
+                    nonZeros++;
+                }
+            }
+            densities[j] = sampled == 0 ? 0.0 : (double) nonZeros / sampled;
+        }
+        return densities;
+    }
+
+    /**
+     * True if the table's estimated overall density is below
+     * {@link #DEFAULT_DENSITY_THRESHOLD}.
+     */
+    public static boolean paysOff(Table table) {
+        return paysOff(table, DEFAULT_DENSITY_THRESHOLD);
+    }
+
+    public static boolean paysOff(Table table, double densityThreshold) {
+        double[] densities = estimateColumnDensities(table);
+        if (densities.length == 0) {
+            return false;
+        }
+        return Arrays.stream(densities).average().orElse(0.0) < densityThreshold;
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int columnCount() {
+        return names.length;
+    }
+
+    public String[] columnNames() {
+        return names.clone();
+    }
+
+    public int nonZeroCount() {
+        return values.length;
+    }
+
+    public double density() {
+        long cells = (long) rows * names.length;
+        return cells == 0 ? 0.0 : (double) values.length / cells;
+    }
+
+    /**
+     * Exact non-zero fraction of column {@code j}.
+     */
+    public double columnDensity(int j) {
+        return rows == 0 ? 0.0 : (double) (colPointers[j + 1] - colPointers[j]) / rows;
+    }
+
+    /**
+     * Bytes held by the compressed arrays.
+     */
+    public long memoryBytes() {
+        return values.length * 12L + colPointers.length * 4L;
+    }
+
+    /**
+     * Bytes a dense double matrix of the same shape would need.
+     */
+    public long denseMemoryBytes() {
+        return (long) rows * names.length * 8L;
+    }
+
+    /**
+     * Sparse-aware scaling: divide each column by its largest absolute value,
+     * mapping it into [-1, 1].
+     *
+     * Zeros stay zero because nothing is subtracted. Centering (as in a
+     * standard scaler) would turn every zero into a non-zero and destroy the
+     * sparsity, so it is deliberately not offered here. Missing values stay NaN.
+     *
+     * @return the per-column divisors (1 for all-zero columns)
+     */
+    public double[] scaleByMaxAbs() {
+        double[] scales = new double[names.length];
+        for (int j = 0; j < scales.length; j++) {
+            double max = 0.0;
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                if (!Double.isNaN(values[k])) {
+                    max = Math.max(max, Math.abs(values[k]));
+                }
+            }
+            scales[j] = max == 0.0 ? 1.0 : max;
+        }
+        divideColumns(scales);
+        return scales;
+    }
+
+    /**
+     * Sparse-aware scaling: divide each column by its sample standard
+     * deviation, computed over all rows (implicit zeros included) without
+     * centering the data.
+     *
+     * @return the per-column divisors (1 for constant columns)
+     */
+    public double[] scaleByStd() {
+        double[] scales = new double[names.length];
+        for (int j = 0; j < scales.length; j++) {
+            double sum = 0.0;
+            int n = rows;
+            int stored = 0;
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                double v = values[k];
+                if (Double.isNaN(v)) {
+                    n--;
+                } else {
+                    sum += v;
+                    stored++;
+                }
+            }
+            // Second pass around the mean: sumSquares - sum^2/n cancels badly
+            // when the mean is large next to the spread
+            double mean = n > 0 ? sum / n : 0.0;
+            double squaredDeviations = (double) (n - stored) * mean * mean;
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                double v = values[k];
+                if (!Double.isNaN(v)) {
+                    squaredDeviations += (v - mean) * (v - mean);
+                }
+            }
+            double variance = n > 1 ? squaredDeviations / (n - 1) : 0.0;
+            scales[j] = variance > 0.0 ? Math.sqrt(variance) : 1.0;
+        }
+        divideColumns(scales);
+        return scales;
+    }
+
+    /**
+     * Smile's compressed sparse column matrix over the same arrays (no copy);
+     * later scaling of this object is visible through it.
+     */
+    public SparseMatrix toSmileMatrix() {
+        return new SparseMatrix(rows, names.length, values, rowIndices, colPointers);
+    }
+
+    /**
+     * One {@link SparseArray} per row, entries in column order.
+     *
+     * Built by a counting sort of the column-major entries into row-major
+     * order (the CSR form), so the cost is linear in the number of non-zeros.
+     */
+    public SparseArray[] toSparseArrays() {
+        int[] rowPointers = new int[rows + 1];
+        for (int row : rowIndices) {
+            rowPointers[row + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowPointers[i + 1] += rowPointers[i];
+        }
+
+        int[] next = Arrays.copyOf(rowPointers, rows);
+        int[] csrColumns = new int[values.length];
+        double[] csrValues = new double[values.length];
+        for (int j = 0; j < names.length; j++) {
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                int slot = next[rowIndices[k]]++;
+                csrColumns[slot] = j;
+                csrValues[slot] = values[k];
+            }
+        }
+
+        SparseArray[] result = new SparseArray[rows];
+        for (int i = 0; i < rows; i++) {
+            SparseArray row = new SparseArray(rowPointers[i + 1] - rowPointers[i]);
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                row.append(csrColumns[k], csrValues[k]);
+            }
+            result[i] = row;
+        }
+        return result;
+    }
+
+    /**
+     * Expand to a dense DOUBLE 'f' order matrix, for ND4j code paths that
+     * have no sparse equivalent.
+     */
+    public INDArray toDense() {
+        INDArray matrix = Nd4j.create(DataType.DOUBLE, new long[]{rows, names.length}, 'f');
+        if (rows == 0) {
+            return matrix;
+        }
+        double[] column = new double[rows];
+        for (int j = 0; j < names.length; j++) {
+            Arrays.fill(column, 0.0);
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                column[rowIndices[k]] = values[k];
+            }
+            NativeBuffers.doubles(matrix, (long) j * rows, rows).put(column);
+        }
+        return matrix;
+    }
+
+    private void divideColumns(double[] scales) {
+        for (int j = 0; j < scales.length; j++) {
+            for (int k = colPointers[j]; k < colPointers[j + 1]; k++) {
+                values[k] /= scales[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import smile.data.DataFrame;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.Table;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Incremental standard scaler: (x - mean) / std with statistics that persist
+ *
+ * Problem: standardizing each batch with its own mean and std means training
+ * and serving scale the same value differently, and nothing can be updated
+ * as new data arrives.
+ * Solution: keep running {@link ColumnMoments} per column.
+ * - {@link #partialFit} folds a batch into the running statistics
+ * - {@link #merge} combines scalers fitted on other threads or partitions
+ * - {@link #transform} applies the current statistics without rescanning history
+ * - {@link #toBytes()} / {@link #fromBytes(byte[])} save the state in
+ *   24 bytes per column plus the names
+ *
+ * Usage:
+ * <pre>
+ * StandardScaler scaler = new StandardScaler("height", "weight");
+ * for (Table batch : trainingBatches) {
+ *     scaler.partialFit(batch);
+ * }
+ * Files.write(path, scaler.toBytes());
+ * ...
+ * StandardScaler serving = StandardScaler.fromBytes(Files.readAllBytes(path));
+ * INDArray scaled = serving.transform(features);
+ * </pre>
+ *
+ * Thread-safe: all methods synchronize on the scaler. For parallel fitting,
+ * give each worker its own scaler and merge them at the end.
+ */
+public final class StandardScaler {
+
+    private static final int MAGIC = 0x53534331; // "SSC1"
+
+    private final String[] names;
+    private final ColumnMoments[] moments;
+
+    /**
+     * An empty scaler for the given columns, in matrix column order.
+     */
+    public StandardScaler(String... columnNames) {
+        this.names = columnNames.clone();
+        this.moments = new ColumnMoments[names.length];
+        for (int j = 0; j < names.length; j++) {
+            moments[j] = new ColumnMoments();
+        }
+    }
+
+    public String[] columnNames() {
+        return names.clone();
+    }
+
+    /**
+     * Fold a rows × cols DOUBLE matrix into the running statistics.
+     */
+    public synchronized StandardScaler partialFit(INDArray batch) {
+        requireColumns(batch.columns());
+        ColumnMoments[] batchMoments = Standardization.moments(batch);
+        for (int j = 0; j < names.length; j++) {
+            moments[j].merge(batchMoments[j]);
+        }
+        return this;
+    }
+
+    /**
+     * Fold the scaler's columns of a Tablesaw table (matched by name).
+     */
+    public synchronized StandardScaler partialFit(Table batch) {
+        double[] column = new double[batch.rowCount()];
+        for (int j = 0; j < names.length; j++) {
+            TablesawNd4jConverter.copyColumn(batch.column(names[j]), column);
+            moments[j].addAll(column, 0, column.length);
+        }
+        return this;
+    }
+
+    /**
+     * Fold the scaler's columns of a Smile DataFrame (matched by name).
+     */
+    public synchronized StandardScaler partialFit(DataFrame batch) {
+        for (int j = 0; j < names.length; j++) {
+            double[] column = batch.column(names[j]).toDoubleArray();
+            moments[j].addAll(column, 0, column.length);
+        }
+        return this;
+    }
+
+    /**
+     * Fold in another scaler's statistics (same columns, same order).
+     */
+    public StandardScaler merge(StandardScaler other) {
+        if (!Arrays.equals(names, other.names)) {
+            throw new IllegalArgumentException("Cannot merge scalers for columns "
+                    + Arrays.toString(names) + " and " + Arrays.toString(other.names));
+        }
+        ColumnMoments[] snapshot = other.snapshot();
+        synchronized (this) {
+            for (int j = 0; j < names.length; j++) {
+                moments[j].merge(snapshot[j]);
+            }
+        }
+        return this;
+    }
+
+    public synchronized double[] means() {
+        double[] means = new double[names.length];
+        for (int j = 0; j < names.length; j++) {
+            means[j] = moments[j].mean();
+        }
+        return means;
+    }
+
+    /**
+     * Per-column divisors: the sample std, or 1 for constant columns.
+     */
+    public synchronized double[] scales() {
+        double[] scales = new double[names.length];
+        for (int j = 0; j < names.length; j++) {
+            scales[j] = moments[j].scale();
+        }
+        return scales;
+    }
+
+    public synchronized long count(int column) {
+        return moments[column].count();
+    }
+
+    /**
+     * Standardized copy of a DOUBLE matrix; the input is not modified.
+     */
+    public INDArray transform(INDArray features) {
+        return transformInPlace(features.dup('f'));
+    }
+
+    /**
+     * Standardize a DOUBLE matrix in place and return it.
+     */
+    public INDArray transformInPlace(INDArray features) {
+        requireColumns(features.columns());
+        requireFitted();
+        Standardization.applyInPlace(features, means(), scales());
+        return features;
+    }
+
+    /**
+     * Copy of a DataFrame with the scaler's columns replaced by standardized
+     * DoubleVectors; other columns are passed through unchanged.
+     */
+    public DataFrame transform(DataFrame data) {
+        requireFitted();
+        double[] means = means();
+        double[] scales = scales();
+        ValueVector[] vectors = data.columns().toArray(new ValueVector[0]);
+        for (int j = 0; j < names.length; j++) {
+            int index = indexOf(data.names(), names[j]);
+            double[] values = vectors[index].toDoubleArray();
+            VectorKernels.scaledCopy(values, 0, values, 0, values.length, means[j], scales[j]);
+            vectors[index] = new DoubleVector(names[j], values);
+        }
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Compact binary form: a header, then per column the name, count, mean
+     * and sum of squared deviations.
+     */
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(names.length);
+        for (int j = 0; j < names.length; j++) {
+            out.writeUTF(names[j]);
+            out.writeLong(moments[j].count());
+            out.writeDouble(moments[j].count() == 0 ? 0.0 : moments[j].mean());
+            out.writeDouble(moments[j].sumSquaredDeviations());
+        }
+    }
+
+    public static StandardScaler readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a serialized StandardScaler");
+        }
+        int cols = in.readInt();
+        String[] names = new String[cols];
+        ColumnMoments[] moments = new ColumnMoments[cols];
+        for (int j = 0; j < cols; j++) {
+            names[j] = in.readUTF();
+            moments[j] = new ColumnMoments(in.readLong(), in.readDouble(), in.readDouble());
+        }
+        StandardScaler scaler = new StandardScaler(names);
+        System.arraycopy(moments, 0, scaler.moments, 0, cols);
+        return scaler;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a saved scaler
+     */
+    public static StandardScaler fromBytes(byte[] bytes) {
+        try {
+            return readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid StandardScaler state", e);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "StandardScaler" + Arrays.toString(names) + " means=" + Arrays.toString(means())
+                + " scales=" + Arrays.toString(scales());
+    }
+
+    private synchronized ColumnMoments[] snapshot() {
+        ColumnMoments[] copy = new ColumnMoments[names.length];
+        for (int j = 0; j < names.length; j++) {
+            copy[j] = new ColumnMoments(moments[j].count(), moments[j].count() == 0 ? 0.0 : moments[j].mean(),
+                    moments[j].sumSquaredDeviations());
+        }
+        return copy;
+    }
+
+    private void requireColumns(long columns) {
+        if (columns != names.length) {
+            throw new IllegalArgumentException(
+                    "Data has " + columns + " columns but the scaler has " + names.length);
+        }
+    }
+
+    private synchronized void requireFitted() {
+        for (int j = 0; j < names.length; j++) {
+            if (moments[j].count() == 0) {
+                throw new IllegalStateException("Column '" + names[j] + "' has not been fitted");
+            }
+        }
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int j = 0; j < names.length; j++) {
+            if (names[j].equals(name)) {
+                return j;
+            }
+        }
+        throw new IllegalArgumentException("No column named '" + name + "'");
+    }
+}
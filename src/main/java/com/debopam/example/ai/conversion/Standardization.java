@@ -0,0 +1,185 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import tech.tablesaw.api.Table;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Single-pass standardization: (x - mean) / std per column
+ *
+ * Problem: {@code x.subRowVector(x.mean(0)).divRowVector(x.std(0))} makes two
+ * reduction passes and allocates two full-size temporaries, so peak native
+ * memory is three times the input.
+ * Solution:
+ * - {@link #standardizeInPlace(INDArray)} gathers mean and variance in one
+ *   read pass ({@link ColumnMoments}), then rewrites the matrix in a second
+ *   pass. No temporaries beyond a 32 KB block.
+ * - {@link #toStandardizedMatrix(Table, ColumnMoments[])} fuses the whole thing
+ *   into the Tablesaw → ND4j copy: each column is read once from Tablesaw and
+ *   written once, already standardized, to native memory.
+ *
+ * Uses the sample std (n - 1), like ND4j's std(0). Constant columns are only
+ * centered (divided by 1) instead of becoming NaN. Missing values (NaN) are
+ * ignored by the statistics and stay NaN.
+ */
+public final class Standardization {
+
+    private static final int BLOCK = 4096;
+    private static final int ROW_BLOCK_ELEMENTS = 1 << 16;
+
+    private Standardization() {
+    }
+
+    /**
+     * Standardize every column of a DOUBLE matrix in place.
+     *
+     * A column-major ('f') matrix that owns its buffer is processed block by
+     * block through a native window. Any other layout is standardized with
+     * ND4j's in-place row-vector ops.
+     *
+     * @return the moments of each column before standardization
+     */
+    public static ColumnMoments[] standardizeInPlace(INDArray matrix) {
+        ColumnMoments[] moments = moments(matrix);
+        double[] means = new double[moments.length];
+        double[] scales = new double[moments.length];
+        for (int j = 0; j < moments.length; j++) {
+            means[j] = moments[j].mean();
+            scales[j] = moments[j].scale();
+        }
+        applyInPlace(matrix, means, scales);
+        return moments;
+    }
+
+    /**
+     * Moments of every column of a DOUBLE matrix, in one read pass.
+     *
+     * A row-major ('c') matrix is read a block of rows at a time and each
+     * column gathered out of the block, as in Nd4jSmileConverter; only
+     * views and other layouts are copied to column-major first.
+     */
+    public static ColumnMoments[] moments(INDArray matrix) {
+        requireDoubleMatrix(matrix);
+        int rows = (int) matrix.rows();
+        int cols = (int) matrix.columns();
+        ColumnMoments[] moments = new ColumnMoments[cols];
+        if (Nd4jSmileConverter.isRowMajor(matrix) && rows > 0 && cols > 0) {
+            for (int j = 0; j < cols; j++) {
+                moments[j] = new ColumnMoments();
+            }
+            int blockRows = Math.max(1, Math.min(rows, ROW_BLOCK_ELEMENTS / cols));
+            double[] block = new double[blockRows * cols];
+            double[] column = new double[blockRows];
+            for (int from = 0; from < rows; from += blockRows) {
+                int n = Math.min(blockRows, rows - from);
+                NativeBuffers.doubles(matrix, (long) from * cols, n * cols).get(block, 0, n * cols);
+                for (int j = 0; j < cols; j++) {
+                    VectorKernels.gather(block, j, cols, column, 0, n);
+                    moments[j].addAll(column, 0, n);
+                }
+            }
+            return moments;
+        }
+
+        INDArray source = Nd4jSmileConverter.columnMajor(matrix);
+        double[] block = new double[BLOCK];
+        for (int j = 0; j < cols; j++) {
+            moments[j] = new ColumnMoments();
+            if (rows == 0) {
+                continue;
+            }
+            DoubleBuffer column = NativeBuffers.doubles(source, (long) j * rows, rows);
+            for (int from = 0; from < rows; from += BLOCK) {
+                int n = Math.min(BLOCK, rows - from);
+                column.get(from, block, 0, n);
+                moments[j].addAll(block, 0, n);
+            }
+        }
+        return moments;
+    }
+
+    /**
+     * {@code matrix[i][j] = (matrix[i][j] - means[j]) / scales[j]}, in place.
+     */
+    static void applyInPlace(INDArray matrix, double[] means, double[] scales) {
+        requireDoubleMatrix(matrix);
+        int rows = (int) matrix.rows();
+        int cols = (int) matrix.columns();
+        if (means.length != cols || scales.length != cols) {
+            throw new IllegalArgumentException(
+                    "Matrix has " + cols + " columns but statistics have " + means.length);
+        }
+        if (rows == 0 || cols == 0) {
+            return;
+        }
+        if (!Nd4jSmileConverter.isColumnMajor(matrix)) {
+            matrix.subiRowVector(Nd4j.createFromArray(means)).diviRowVector(Nd4j.createFromArray(scales));
+            return;
+        }
+
+        double[] block = new double[BLOCK];
+        for (int j = 0; j < cols; j++) {
+            DoubleBuffer column = NativeBuffers.doubles(matrix, (long) j * rows, rows);
+            double mean = means[j];
+            double scale = scales[j];
+            for (int from = 0; from < rows; from += BLOCK) {
+                int n = Math.min(BLOCK, rows - from);
+                column.get(from, block, 0, n);
+                VectorKernels.scaledCopy(block, 0, block, 0, n, mean, scale);
+                column.put(from, block, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Tablesaw → ND4j copy with standardization fused in.
+     *
+     * @param moments if not null, receives the moments of each column
+     *                (length must equal the column count)
+     * @throws IllegalArgumentException if a column is not numeric
+     */
+    public static INDArray toStandardizedMatrix(Table table, ColumnMoments[] moments) {
+        int rows = table.rowCount();
+        int cols = table.columnCount();
+        if (moments != null && moments.length != cols) {
+            throw new IllegalArgumentException(
+                    "Table has " + cols + " columns but moments has length " + moments.length);
+        }
+        if (rows == 0 || cols == 0) {
+            for (int j = 0; moments != null && j < cols; j++) {
+                moments[j] = new ColumnMoments();
+            }
+            return Nd4j.create(DataType.DOUBLE, rows, cols);
+        }
+
+        INDArray matrix = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, cols}, 'f');
+        double[] scratch = new double[rows];
+        for (int j = 0; j < cols; j++) {
+            TablesawNd4jConverter.copyColumn(table.column(j), scratch);
+            ColumnMoments columnMoments = new ColumnMoments();
+            for (int from = 0; from < rows; from += BLOCK) {
+                columnMoments.addAll(scratch, from, Math.min(rows, from + BLOCK));
+            }
+            double mean = columnMoments.mean();
+            double scale = columnMoments.scale();
+            VectorKernels.scaledCopy(scratch, 0, scratch, 0, rows, mean, scale);
+            NativeBuffers.doubles(matrix, (long) j * rows, rows).put(scratch, 0, rows);
+            if (moments != null) {
+                moments[j] = columnMoments;
+            }
+        }
+        return matrix;
+    }
+
+    private static void requireDoubleMatrix(INDArray matrix) {
+        if (matrix.rank() != 2) {
+            throw new IllegalArgumentException("Expected a 2D array, got rank " + matrix.rank());
+        }
+        if (matrix.dataType() != DataType.DOUBLE) {
+            throw new IllegalArgumentException("Expected DOUBLE array, got " + matrix.dataType());
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streaming Tablesaw → ND4j mini-batches
+ *
+ * Concept: instead of materialising the whole table as one INDArray, hand out
+ * fixed-size row batches. Native memory is allocated once, up front, for a
+ * small pool of batch buffers, and those buffers are refilled for every batch,
+ * so memory use stays flat however many rows the table has.
+ *
+ * Reuse contract: the DataSet returned by next() (and its arrays) is only
+ * valid until the following call to next() or reset(). dup() anything you
+ * need to keep.
+ *
+ * With {@code prefetch > 0} a daemon thread fills up to that many batches
+ * ahead of the consumer; it only copies values into buffers that were
+ * allocated on the caller's thread, so it never runs ND4j ops itself.
+ *
+ * Usage:
+ * <pre>
+ * try (TableBatchIterator it = new TableBatchIterator(table, 1024, 2, "label")) {
+ *     while (it.hasNext()) {
+ *         DataSet batch = it.next();
+ *         model.fit(batch);
+ *     }
+ * }
+ * </pre>
+ */
+public class TableBatchIterator implements DataSetIterator, AutoCloseable {
+
+    private final Table table;
+    private final Column<?>[] features;
+    private final Column<?>[] labels;
+    private final List<String> labelNames;
+    private final int batchSize;
+    private final int prefetch;
+    private final Slot[] slots;
+
+    private DataSetPreProcessor preProcessor;
+
+    // First row not yet handed out
+    private int cursor;
+    // Last next(int) batch, kept for another call with the same size
+    private Slot oneOff;
+
+    // Prefetch mode
+    private BlockingQueue<Slot> ready;
+    private BlockingQueue<Slot> free;
+    private Thread producer;
+    private Slot pending;
+    private Slot current;
+
+    /**
+     * Synchronous iterator: every numeric column not named in
+     * {@code labelColumns} is a feature.
+     */
+    public TableBatchIterator(Table table, int batchSize, String... labelColumns) {
+        this(table, batchSize, 0, labelColumns);
+    }
+
+    /**
+     * @param prefetch number of batches to prepare ahead on a background
+     *                 thread; 0 fills each batch on the calling thread
+     */
+    public TableBatchIterator(Table table, int batchSize, int prefetch, String... labelColumns) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("prefetch must not be negative: " + prefetch);
+        }
+        this.table = table;
+        this.batchSize = batchSize;
+        this.prefetch = prefetch;
+        this.labelNames = List.of(labelColumns);
+
+        List<Column<?>> featureList = new ArrayList<>();
+        for (Column<?> col : table.columns()) {
+            if (!labelNames.contains(col.name())) {
+                featureList.add(numeric(col));
+            }
+        }
+        this.features = featureList.toArray(new Column<?>[0]);
+        this.labels = new Column<?>[labelColumns.length];
+        for (int k = 0; k < labelColumns.length; k++) {
+            labels[k] = numeric(table.column(labelColumns[k]));
+        }
+
+        this.slots = new Slot[prefetch == 0 ? 1 : prefetch + 2];
+        for (int s = 0; s < slots.length; s++) {
+            slots[s] = new Slot(batchSize, features.length, labels.length);
+        }
+        reset();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (prefetch == 0) {
+            return cursor < table.rowCount();
+        }
+        if (pending == null) {
+            pending = take(ready);
+        }
+        return pending != Slot.END;
+    }
+
+    @Override
+    public DataSet next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Slot slot;
+        if (prefetch == 0) {
+            slot = slots[0];
+            int end = Math.min(cursor + batchSize, table.rowCount());
+            fill(slot, cursor, end);
+            cursor = end;
+        } else {
+            if (pending.error != null) {
+                throw new IllegalStateException("Batch producer failed", pending.error);
+            }
+            if (current != null) {
+                free.add(current);
+            }
+            slot = pending;
+            current = slot;
+            pending = null;
+            cursor += slot.rows;
+        }
+
+        DataSet dataSet = slot.toDataSet();
+        if (preProcessor != null) {
+            preProcessor.preProcess(dataSet);
+        }
+        return dataSet;
+    }
+
+    /**
+     * A one-off batch of up to {@code num} rows from the current position;
+     * later next() calls continue after it with the usual batch size. Uses
+     * its own buffer (kept for the next call of the same size), and with
+     * prefetch discards the batches prepared ahead and refills from the new
+     * position. Same reuse contract as next().
+     *
+     * @throws IllegalArgumentException if num is not positive
+     */
+    @Override
+    public DataSet next(int num) {
+        if (num <= 0) {
+            throw new IllegalArgumentException("num must be positive: " + num);
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (oneOff == null || oneOff.capacity != num) {
+            oneOff = new Slot(num, features.length, labels.length);
+        }
+        int end = (int) Math.min((long) cursor + num, table.rowCount());
+        fill(oneOff, cursor, end);
+        cursor = end;
+        if (prefetch > 0) {
+            startProducer(cursor);
+        }
+
+        DataSet dataSet = oneOff.toDataSet();
+        if (preProcessor != null) {
+            preProcessor.preProcess(dataSet);
+        }
+        return dataSet;
+    }
+
+    @Override
+    public int inputColumns() {
+        return features.length;
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return labels.length;
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return true;
+    }
+
+    /**
+     * False: batches share reused buffers, so wrapping this iterator in ND4j's
+     * AsyncDataSetIterator would overwrite batches still in its queue. Use the
+     * {@code prefetch} constructor argument instead.
+     */
+    @Override
+    public boolean asyncSupported() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        cursor = 0;
+        if (prefetch > 0) {
+            startProducer(0);
+        }
+    }
+
+    @Override
+    public int batch() {
+        return batchSize;
+    }
+
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    /**
+     * Names of the label columns, in label-matrix column order.
+     */
+    @Override
+    public List<String> getLabels() {
+        return labelNames;
+    }
+
+    /**
+     * Stops the prefetch thread, if any.
+     */
+    @Override
+    public void close() {
+        stopProducer();
+    }
+
+    /**
+     * (Re)start prefetching from row {@code from}, dropping any batches
+     * prepared so far.
+     */
+    private void startProducer(int from) {
+        stopProducer();
+        ready = new ArrayBlockingQueue<>(slots.length);
+        free = new ArrayBlockingQueue<>(slots.length, false, Arrays.asList(slots));
+        pending = null;
+        current = null;
+        producer = new Thread(() -> produce(from), "table-batch-prefetch");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void produce(int from) {
+        try {
+            for (int start = from; start < table.rowCount(); start += batchSize) {
+                Slot slot = free.take();
+                fill(slot, start, Math.min(start + batchSize, table.rowCount()));
+                ready.put(slot);
+            }
+            ready.put(Slot.END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            ready.offer(Slot.failed(e));
+        }
+    }
+
+    private void stopProducer() {
+        if (producer != null) {
+            producer.interrupt();
+            try {
+                producer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            producer = null;
+        }
+    }
+
+    /**
+     * Copy rows [from, to) into the slot's staging arrays, then into its
+     * native buffers with one bulk write each.
+     */
+    private void fill(Slot slot, int from, int to) {
+        int n = to - from;
+        if (features.length > 0) {
+            for (int k = 0; k < features.length; k++) {
+                TablesawNd4jConverter.copyColumn(features[k], from, to, slot.featureStaging, k, features.length);
+            }
+            NativeBuffers.doubles(slot.features, 0, n * features.length)
+                    .put(slot.featureStaging, 0, n * features.length);
+        }
+        if (labels.length > 0) {
+            for (int k = 0; k < labels.length; k++) {
+                TablesawNd4jConverter.copyColumn(labels[k], from, to, slot.labelStaging, k, labels.length);
+            }
+            NativeBuffers.doubles(slot.labels, 0, n * labels.length)
+                    .put(slot.labelStaging, 0, n * labels.length);
+        }
+        slot.rows = n;
+    }
+
+    private static Column<?> numeric(Column<?> col) {
+        if (!(col instanceof NumericColumn)) {
+            throw TablesawNd4jConverter.notNumeric(col);
+        }
+        return col;
+    }
+
+    private static Slot take(BlockingQueue<Slot> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next batch", e);
+        }
+    }
+
+    /**
+     * One reusable batch: row-major ('c') native buffers plus heap staging.
+     * 'c' order keeps the rows of a short final batch contiguous.
+     */
+    private static final class Slot {
+
+        static final Slot END = new Slot();
+
+        final INDArray features;
+        final INDArray labels;
+        final double[] featureStaging;
+        final double[] labelStaging;
+        final RuntimeException error;
+        final int capacity;
+        int rows;
+
+        Slot(int batchSize, int featureCount, int labelCount) {
+            this.capacity = batchSize;
+            this.features = Nd4j.create(DataType.DOUBLE, new long[]{batchSize, featureCount}, 'c');
+            this.labels = labelCount == 0 ? null
+                    : Nd4j.create(DataType.DOUBLE, new long[]{batchSize, labelCount}, 'c');
+            this.featureStaging = new double[batchSize * featureCount];
+            this.labelStaging = new double[batchSize * labelCount];
+            this.error = null;
+        }
+
+        private Slot() {
+            this(null);
+        }
+
+        private Slot(RuntimeException error) {
+            this.features = null;
+            this.labels = null;
+            this.featureStaging = null;
+            this.labelStaging = null;
+            this.error = error;
+            this.capacity = 0;
+        }
+
+        static Slot failed(RuntimeException error) {
+            return new Slot(error);
+        }
+
+        DataSet toDataSet() {
+            return new DataSet(firstRows(features), firstRows(labels));
+        }
+
+        private INDArray firstRows(INDArray buffer) {
+            if (buffer == null || rows == buffer.rows()) {
+                return buffer;
+            }
+            return buffer.get(NDArrayIndex.interval(0, rows), NDArrayIndex.all());
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.util.Arrays;
+
+/**
+ * Lazy, read-only matrix view over the numeric columns of a Tablesaw table
+ *
+ * Problem: {@code TablesawNd4jConverter.toMatrix(table).mean(0)} builds a
+ * full rows × cols native copy just to read back one number per column.
+ * Solution: keep the table as the storage and compute column reductions
+ * straight off it, a cache-sized block at a time. Nothing the size of the
+ * table is allocated until a real matrix op (e.g. {@link #mmul}) needs one.
+ *
+ * Shapes follow ND4j: reductions return a vector of length {@link #columns()}
+ * (like {@code matrix.mean(0)}), {@link #getColumn(int)} returns rows × 1.
+ * Missing values (NaN) are skipped by the reductions, where ND4j would
+ * propagate them.
+ *
+ * The view reads the table on every call, so later edits to the table show
+ * up; it never writes to it.
+ *
+ * Usage:
+ * <pre>
+ * TableMatrixView x = TableMatrixView.of(table);
+ * INDArray means = x.mean();                        // no matrix built
+ * INDArray stds = x.getColumns(0, 2).std();         // slice is a view too
+ * INDArray gram = x.mmul(weights);                  // materializes here
+ * </pre>
+ */
+public final class TableMatrixView {
+
+    private static final int BLOCK = 4096;
+
+    private final Table table;
+    private final int[] columnIndices;
+
+    private TableMatrixView(Table table, int[] columnIndices) {
+        this.table = table;
+        this.columnIndices = columnIndices;
+    }
+
+    /**
+     * View over every column of the table.
+     *
+     * @throws IllegalArgumentException if a column is not numeric
+     */
+    public static TableMatrixView of(Table table) {
+        int[] indices = new int[table.columnCount()];
+        for (int j = 0; j < indices.length; j++) {
+            indices[j] = j;
+        }
+        return of(table, indices);
+    }
+
+    /**
+     * View over the named columns, in the given order.
+     */
+    public static TableMatrixView of(Table table, String... columnNames) {
+        int[] indices = new int[columnNames.length];
+        for (int j = 0; j < indices.length; j++) {
+            indices[j] = table.columnIndex(columnNames[j]);
+        }
+        return of(table, indices);
+    }
+
+    private static TableMatrixView of(Table table, int[] indices) {
+        for (int index : indices) {
+            Column<?> col = table.column(index);
+            if (!(col instanceof NumericColumn)) {
+                throw TablesawNd4jConverter.notNumeric(col);
+            }
+        }
+        return new TableMatrixView(table, indices);
+    }
+
+    public long rows() {
+        return table.rowCount();
+    }
+
+    public int columns() {
+        return columnIndices.length;
+    }
+
+    public long[] shape() {
+        return new long[]{rows(), columns()};
+    }
+
+    public String[] columnNames() {
+        String[] names = new String[columnIndices.length];
+        for (int j = 0; j < names.length; j++) {
+            names[j] = column(j).name();
+        }
+        return names;
+    }
+
+    public double getDouble(int row, int column) {
+        return ((NumericColumn<?>) column(column)).getDouble(row);
+    }
+
+    /**
+     * Column slice, by position in this view. Returns another view; nothing is copied.
+     */
+    public TableMatrixView getColumns(int... indices) {
+        int[] selected = new int[indices.length];
+        for (int k = 0; k < indices.length; k++) {
+            selected[k] = columnIndices[indices[k]];
+        }
+        return new TableMatrixView(table, selected);
+    }
+
+    /**
+     * One column as a rows × 1 DOUBLE array (copies only that column).
+     */
+    public INDArray getColumn(int column) {
+        int rows = table.rowCount();
+        double[] values = new double[rows];
+        TablesawNd4jConverter.copyColumn(column(column), values);
+        return Nd4j.create(values, new long[]{rows, 1}, DataType.DOUBLE);
+    }
+
+    // ==================== Reductions (no materialization) ====================
+
+    public INDArray sum() {
+        double[] sums = new double[columns()];
+        double[] block = new double[BLOCK];
+        for (int j = 0; j < sums.length; j++) {
+            Column<?> col = column(j);
+            double sum = 0.0;
+            for (int from = 0; from < col.size(); from += BLOCK) {
+                int length = Math.min(BLOCK, col.size() - from);
+                TablesawNd4jConverter.copyColumn(col, from, from + length, block, 0, 1);
+                for (int i = 0; i < length; i++) {
+                    double v = block[i];
+                    if (v == v) {
+                        sum += v;
+                    }
+                }
+            }
+            sums[j] = sum;
+        }
+        return Nd4j.createFromArray(sums);
+    }
+
+    /**
+     * Each call is one pass over the table; for mean and std together use
+     * {@link #moments()}.
+     */
+    public INDArray mean() {
+        ColumnMoments[] moments = moments();
+        double[] means = new double[moments.length];
+        for (int j = 0; j < means.length; j++) {
+            means[j] = moments[j].mean();
+        }
+        return Nd4j.createFromArray(means);
+    }
+
+    /**
+     * Sample standard deviation per column, matching ND4j's {@code std(0)}.
+     */
+    public INDArray std() {
+        ColumnMoments[] moments = moments();
+        double[] stds = new double[moments.length];
+        for (int j = 0; j < stds.length; j++) {
+            stds[j] = moments[j].std();
+        }
+        return Nd4j.createFromArray(stds);
+    }
+
+    public INDArray min() {
+        return extreme(true);
+    }
+
+    public INDArray max() {
+        return extreme(false);
+    }
+
+    /**
+     * Count, mean and variance of every column in one pass, for callers that
+     * need more than one statistic.
+     */
+    public ColumnMoments[] moments() {
+        ColumnMoments[] moments = new ColumnMoments[columns()];
+        double[] block = new double[BLOCK];
+        for (int j = 0; j < moments.length; j++) {
+            Column<?> col = column(j);
+            moments[j] = new ColumnMoments();
+            for (int from = 0; from < col.size(); from += BLOCK) {
+                int length = Math.min(BLOCK, col.size() - from);
+                TablesawNd4jConverter.copyColumn(col, from, from + length, block, 0, 1);
+                moments[j].addAll(block, 0, length);
+            }
+        }
+        return moments;
+    }
+
+    /**
+     * NaN for columns with no values.
+     */
+    private INDArray extreme(boolean min) {
+        double[] result = new double[columns()];
+        double[] block = new double[BLOCK];
+        for (int j = 0; j < result.length; j++) {
+            Column<?> col = column(j);
+            double best = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+            boolean seen = false;
+            for (int from = 0; from < col.size(); from += BLOCK) {
+                int length = Math.min(BLOCK, col.size() - from);
+                TablesawNd4jConverter.copyColumn(col, from, from + length, block, 0, 1);
+                for (int i = 0; i < length; i++) {
+                    double v = block[i];
+                    if (v == v) {
+                        best = min ? Math.min(best, v) : Math.max(best, v);
+                        seen = true;
+                    }
+                }
+            }
+            result[j] = seen ? best : Double.NaN;
+        }
+        return Nd4j.createFromArray(result);
+    }
+
+    // ==================== Materialization ====================
+
+    /**
+     * Matrix product; this is where the view turns into a dense matrix.
+     * Keep {@link #materialize()} around instead when multiplying repeatedly.
+     */
+    public INDArray mmul(INDArray other) {
+        return materialize().mmul(other);
+    }
+
+    /**
+     * Dense rows × cols DOUBLE 'f' order copy of the view.
+     */
+    public INDArray materialize() {
+        return materialize(DataType.DOUBLE);
+    }
+
+    /**
+     * @param dataType DOUBLE, or FLOAT for the float32 mode
+     */
+    public INDArray materialize(DataType dataType) {
+        Table selected = Table.create(table.name());
+        for (int j = 0; j < columns(); j++) {
+            selected.addColumns(column(j));
+        }
+        return TablesawNd4jConverter.toMatrix(selected, dataType);
+    }
+
+    private Column<?> column(int j) {
+        return table.column(columnIndices[j]);
+    }
+
+    @Override
+    public String toString() {
+        return "TableMatrixView" + Arrays.toString(shape()) + " of " + Arrays.toString(columnNames());
+    }
+}
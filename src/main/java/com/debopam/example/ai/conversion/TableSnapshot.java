@@ -0,0 +1,510 @@
+package com.debopam.example.ai.conversion;
+
+import it.unimi.dsi.fastutil.bytes.Byte2IntOpenHashMap;
+import it.unimi.dsi.fastutil.bytes.Byte2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ShortOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2IntOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.strings.ByteDictionaryMap;
+import tech.tablesaw.columns.strings.DictionaryMap;
+import tech.tablesaw.columns.strings.IntDictionaryMap;
+import tech.tablesaw.columns.strings.ShortDictionaryMap;
+import tech.tablesaw.columns.strings.StringColumnType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tablesaw Table ↔ binary columnar file, opened by memory-mapping
+ *
+ * Problem: every job that starts from a CSV parses the same text again, and
+ * for a large file that is minutes of parsing before any work is done.
+ * Solution: parse once, then save the Table as a snapshot: one block of raw
+ * little-endian values per column, plus a dictionary per string column.
+ * Opening a snapshot maps the file and wraps the blocks:
+ * - DOUBLE and INTEGER columns are views of the mapped blocks
+ *   ({@link OffHeapDoubleList} / {@link OffHeapIntList}), so opening them
+ *   costs the same for 1 KB or 10 GB; pages are read on first access
+ * - STRING columns are rebuilt from their dictionary (one String per distinct
+ *   value) and a copy of the code block (1, 2 or 4 bytes per row)
+ * - LONG and FLOAT columns are copied out of their blocks in bulk
+ * Other column types are not supported (IllegalArgumentException on write).
+ *
+ * Mapped columns are read-only and fixed-size like OffHeapColumnStore's:
+ * set() and append() throw, and copy() gives an ordinary heap column. Each
+ * column block must be under 2 GB (268M doubles).
+ *
+ * Layout:
+ * <pre>
+ * magic, version | column blocks, 8-byte aligned | footer | footer offset, magic
+ * footer: rows, table name, then per column: name, type, block offset and
+ *         length; for STRING columns also code width, dictionary size,
+ *         dictionary offset and length
+ * dictionary: missing count, then per distinct value: count, UTF-8 length, bytes
+ * </pre>
+ *
+ * Usage:
+ * <pre>
+ * TableSnapshot.write(MappedCsvReader.read(Path.of("measurements.csv")), Path.of("measurements.snap"));
+ *
+ * // Later, in any process
+ * Table data = TableSnapshot.read(Path.of("measurements.snap"));
+ * </pre>
+ */
+public final class TableSnapshot {
+
+    private static final long MAGIC = 0x31504E534C424154L; // "TABLSNP1" read as little-endian
+    private static final int VERSION = 1;
+    private static final int TRAILER = 16;
+
+    private TableSnapshot() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if a column has an unsupported type or a
+     *                                  block would be 2 GB or more
+     */
+    public static void write(Table table, Path file) throws IOException {
+        for (Column<?> column : table.columns()) {
+            int width = valueWidth(column);
+            if ((long) width * column.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Column '" + column.name() + "' needs a block of "
+                        + (long) width * column.size() + " bytes; snapshot blocks are limited to 2 GB");
+            }
+        }
+
+        try (BlockWriter out = new BlockWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            out.putLong(MAGIC);
+            out.putInt(VERSION);
+            out.align();
+
+            int columns = table.columnCount();
+            long[] offsets = new long[columns];
+            long[] lengths = new long[columns];
+            Dictionary[] dictionaries = new Dictionary[columns];
+            for (int j = 0; j < columns; j++) {
+                Column<?> column = table.column(j);
+                offsets[j] = out.position();
+                if (column instanceof StringColumn) {
+                    dictionaries[j] = writeStrings((StringColumn) column, out);
+                } else {
+                    writeValues(column, out);
+                }
+                lengths[j] = out.position() - offsets[j];
+                out.align();
+                if (dictionaries[j] != null) {
+                    dictionaries[j].offset = out.position();
+                    dictionaries[j].write(out);
+                    dictionaries[j].length = out.position() - dictionaries[j].offset;
+                    out.align();
+                }
+            }
+
+            long footer = out.position();
+            out.putInt(table.rowCount());
+            out.putString(table.name());
+            out.putInt(columns);
+            for (int j = 0; j < columns; j++) {
+                Column<?> column = table.column(j);
+                out.putString(column.name());
+                out.putString(column.type().name());
+                out.putLong(offsets[j]);
+                out.putLong(lengths[j]);
+                if (dictionaries[j] != null) {
+                    out.putInt(dictionaries[j].width);
+                    out.putInt(dictionaries[j].size());
+                    out.putLong(dictionaries[j].offset);
+                    out.putLong(dictionaries[j].length);
+                }
+            }
+            out.putLong(footer);
+            out.putLong(MAGIC);
+        }
+    }
+
+    /**
+     * Map a snapshot and wrap its columns. The mapping lives as long as the
+     * columns do; don't truncate or rewrite the file while they are in use.
+     *
+     * @throws IllegalArgumentException if the file is not a snapshot
+     */
+    public static Table read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 16 + TRAILER) {
+                throw new IllegalArgumentException(file + " is not a table snapshot");
+            }
+            ByteBuffer trailer = map(channel, size - TRAILER, TRAILER);
+            ByteBuffer head = map(channel, 0, 16);
+            if (trailer.getLong(8) != MAGIC || head.getLong(0) != MAGIC) {
+                throw new IllegalArgumentException(file + " is not a table snapshot");
+            }
+            if (head.getInt(8) != VERSION) {
+                throw new IllegalArgumentException(file + " has snapshot version " + head.getInt(8)
+                        + "; this reader understands " + VERSION);
+            }
+            long footer = trailer.getLong(0);
+            ByteBuffer in = map(channel, footer, size - TRAILER - footer);
+
+            int rows = in.getInt();
+            Table table = Table.create(getString(in));
+            int columns = in.getInt();
+            for (int j = 0; j < columns; j++) {
+                String name = getString(in);
+                String type = getString(in);
+                MappedByteBuffer block = map(channel, in.getLong(), in.getLong());
+                if (type.equals(ColumnType.STRING.name())) {
+                    int width = in.getInt();
+                    int entries = in.getInt();
+                    ByteBuffer dictionary = map(channel, in.getLong(), in.getLong());
+                    table.addColumns(readStrings(name, rows, block, width, entries, dictionary));
+                } else {
+                    table.addColumns(readValues(name, type, rows, block));
+                }
+            }
+            return table;
+        }
+    }
+
+    private static void writeValues(Column<?> column, BlockWriter out) throws IOException {
+        int rows = column.size();
+        if (column instanceof DoubleColumn) {
+            DoubleColumn values = (DoubleColumn) column;
+            for (int i = 0; i < rows; i++) {
+                out.putDouble(values.getDouble(i));
+            }
+        } else if (column instanceof IntColumn) {
+            IntColumn values = (IntColumn) column;
+            for (int i = 0; i < rows; i++) {
+                out.putInt(values.getInt(i));
+            }
+        } else if (column instanceof LongColumn) {
+            LongColumn values = (LongColumn) column;
+            for (int i = 0; i < rows; i++) {
+                out.putLong(values.getLong(i));
+            }
+        } else {
+            FloatColumn values = (FloatColumn) column;
+            for (int i = 0; i < rows; i++) {
+                out.putFloat(values.getFloat(i));
+            }
+        }
+    }
+
+    private static Column<?> readValues(String name, String type, int rows, MappedByteBuffer block) {
+        if (type.equals(ColumnType.DOUBLE.name())) {
+            return new OffHeapDoubleList(block.asDoubleBuffer(), block).toColumn(name);
+        }
+        if (type.equals(ColumnType.INTEGER.name())) {
+            return new OffHeapIntList(block.asIntBuffer(), block).toColumn(name);
+        }
+        if (type.equals(ColumnType.LONG.name())) {
+            long[] values = new long[rows];
+            block.asLongBuffer().get(values);
+            return LongColumn.create(name, values);
+        }
+        if (type.equals(ColumnType.FLOAT.name())) {
+            float[] values = new float[rows];
+            block.asFloatBuffer().get(values);
+            return FloatColumn.create(name, values);
+        }
+        throw new IllegalArgumentException("Column '" + name + "' has unsupported type " + type);
+    }
+
+    /**
+     * Codes are written as Tablesaw's own dictionary keys, in the narrowest of
+     * byte, short and int that holds them: MIN_VALUE + 1 + the value's index
+     * in first-seen order, and MAX_VALUE for the missing value
+     * (MIN_VALUE is Tablesaw's "no key").
+     */
+    private static Dictionary writeStrings(StringColumn column, BlockWriter out) throws IOException {
+        int rows = column.size();
+        Dictionary dictionary = new Dictionary();
+        int[] codes = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            codes[i] = dictionary.add(column.get(i));
+        }
+        int entries = dictionary.size();
+        dictionary.width = entries < 0xff ? 1 : entries < 0xffff ? 2 : 4;
+        for (int i = 0; i < rows; i++) {
+            int code = codes[i];
+            switch (dictionary.width) {
+                case 1 -> out.putByte(code == Dictionary.MISSING ? Byte.MAX_VALUE : (byte) (Byte.MIN_VALUE + 1 + code));
+                case 2 -> out.putShort(code == Dictionary.MISSING ? Short.MAX_VALUE : (short) (Short.MIN_VALUE + 1 + code));
+                default -> out.putInt(code == Dictionary.MISSING ? Integer.MAX_VALUE : Integer.MIN_VALUE + 1 + code);
+            }
+        }
+        return dictionary;
+    }
+
+    private static StringColumn readStrings(String name, int rows, ByteBuffer block, int width,
+                                            int entries, ByteBuffer dictionary) {
+        int missing = dictionary.getInt();
+        String[] values = new String[entries];
+        int[] counts = new int[entries];
+        for (int k = 0; k < entries; k++) {
+            counts[k] = dictionary.getInt();
+            byte[] bytes = new byte[dictionary.getInt()];
+            dictionary.get(bytes);
+            values[k] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        String missingValue = StringColumnType.missingValueIndicator();
+
+        DictionaryMap map;
+        if (width == 1) {
+            byte[] codes = new byte[rows];
+            block.get(0, codes);
+            Byte2ObjectOpenHashMap<String> keyToValue = new Byte2ObjectOpenHashMap<>(entries + 1);
+            Object2ByteOpenHashMap<String> valueToKey = new Object2ByteOpenHashMap<>(entries + 1);
+            Byte2IntOpenHashMap keyToCount = new Byte2IntOpenHashMap(entries + 1);
+            valueToKey.defaultReturnValue(Byte.MIN_VALUE);
+            for (int k = 0; k < entries; k++) {
+                byte key = (byte) (Byte.MIN_VALUE + 1 + k);
+                keyToValue.put(key, values[k]);
+                valueToKey.put(values[k], key);
+                keyToCount.put(key, counts[k]);
+            }
+            if (missing > 0) {
+                keyToValue.put(Byte.MAX_VALUE, missingValue);
+                valueToKey.put(missingValue, Byte.MAX_VALUE);
+                keyToCount.put(Byte.MAX_VALUE, missing);
+            }
+            map = new ByteDictionaryMap.ByteDictionaryBuilder()
+                    .setNextIndex(Byte.MIN_VALUE + entries)
+                    .setKeyToValue(keyToValue)
+                    .setValueToKey(valueToKey)
+                    .setKeyToCount(keyToCount)
+                    .setValues(codes)
+                    .build();
+        } else if (width == 2) {
+            short[] codes = new short[rows];
+            block.asShortBuffer().get(0, codes);
+            Short2ObjectOpenHashMap<String> keyToValue = new Short2ObjectOpenHashMap<>(entries + 1);
+            Object2ShortOpenHashMap<String> valueToKey = new Object2ShortOpenHashMap<>(entries + 1);
+            Short2IntOpenHashMap keyToCount = new Short2IntOpenHashMap(entries + 1);
+            valueToKey.defaultReturnValue(Short.MIN_VALUE);
+            for (int k = 0; k < entries; k++) {
+                short key = (short) (Short.MIN_VALUE + 1 + k);
+                keyToValue.put(key, values[k]);
+                valueToKey.put(values[k], key);
+                keyToCount.put(key, counts[k]);
+            }
+            if (missing > 0) {
+                keyToValue.put(Short.MAX_VALUE, missingValue);
+                valueToKey.put(missingValue, Short.MAX_VALUE);
+                keyToCount.put(Short.MAX_VALUE, missing);
+            }
+            map = new ShortDictionaryMap.ShortDictionaryBuilder()
+                    .setNextIndex(Short.MIN_VALUE + entries)
+                    .setKeyToValue(keyToValue)
+                    .setValueToKey(valueToKey)
+                    .setKeyToCount(keyToCount)
+                    .setValues(codes)
+                    .build();
+        } else {
+            int[] codes = new int[rows];
+            block.asIntBuffer().get(0, codes);
+            Int2ObjectOpenHashMap<String> keyToValue = new Int2ObjectOpenHashMap<>(entries + 1);
+            Object2IntOpenHashMap<String> valueToKey = new Object2IntOpenHashMap<>(entries + 1);
+            Int2IntOpenHashMap keyToCount = new Int2IntOpenHashMap(entries + 1);
+            valueToKey.defaultReturnValue(Integer.MIN_VALUE);
+            for (int k = 0; k < entries; k++) {
+                int key = Integer.MIN_VALUE + 1 + k;
+                keyToValue.put(key, values[k]);
+                valueToKey.put(values[k], key);
+                keyToCount.put(key, counts[k]);
+            }
+            if (missing > 0) {
+                keyToValue.put(Integer.MAX_VALUE, missingValue);
+                valueToKey.put(missingValue, Integer.MAX_VALUE);
+                keyToCount.put(Integer.MAX_VALUE, missing);
+            }
+            map = new IntDictionaryMap.IntDictionaryBuilder()
+                    .setNextIndex(Integer.MIN_VALUE + entries)
+                    .setKeyToValue(keyToValue)
+                    .setValueToKey(valueToKey)
+                    .setKeyToCount(keyToCount)
+                    .setValues(codes)
+                    .build();
+        }
+        return StringColumn.createInternal(name, map);
+    }
+
+    private static int valueWidth(Column<?> column) {
+        if (column instanceof DoubleColumn || column instanceof LongColumn) {
+            return 8;
+        }
+        if (column instanceof IntColumn || column instanceof FloatColumn || column instanceof StringColumn) {
+            return 4;
+        }
+        throw new IllegalArgumentException("Column '" + column.name() + "' has unsupported type "
+                + column.type().name() + "; snapshots hold DOUBLE, FLOAT, INTEGER, LONG and STRING");
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Distinct values of a string column in first-seen order, with counts;
+     * the missing value is only counted.
+     */
+    private static final class Dictionary {
+        static final int MISSING = -1;
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<int[]> counts = new ArrayList<>();
+        private int missing;
+        int width;
+        long offset;
+        long length;
+
+        int add(String value) {
+            if (StringColumnType.missingValueIndicator().equals(value)) {
+                missing++;
+                return MISSING;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+                counts.add(new int[1]);
+            }
+            counts.get(code)[0]++;
+            return code;
+        }
+
+        /** Distinct values other than the missing value. */
+        int size() {
+            return values.size();
+        }
+
+        void write(BlockWriter out) throws IOException {
+            out.putInt(missing);
+            for (int k = 0; k < values.size(); k++) {
+                out.putInt(counts.get(k)[0]);
+                out.putString(values.get(k));
+            }
+        }
+    }
+
+    /**
+     * Little-endian writes through a 1 MB buffer, tracking the file position.
+     */
+    private static final class BlockWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long flushed;
+
+        BlockWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return flushed + buffer.position();
+        }
+
+        void putByte(byte value) throws IOException {
+            room(1).put(value);
+        }
+
+        void putShort(short value) throws IOException {
+            room(2).putShort(value);
+        }
+
+        void putInt(int value) throws IOException {
+            room(4).putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            room(8).putLong(value);
+        }
+
+        void putFloat(float value) throws IOException {
+            room(4).putFloat(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            room(8).putDouble(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                ByteBuffer source = ByteBuffer.wrap(bytes);
+                while (source.hasRemaining()) {
+                    flushed += channel.write(source);
+                }
+            } else {
+                room(bytes.length).put(bytes);
+            }
+        }
+
+        /** Pads with zeros to the next multiple of 8. */
+        void align() throws IOException {
+            while ((position() & 7) != 0) {
+                putByte((byte) 0);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private ByteBuffer room(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
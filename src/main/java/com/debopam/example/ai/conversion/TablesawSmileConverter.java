@@ -0,0 +1,312 @@
+package com.debopam.example.ai.conversion;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import smile.data.DataFrame;
+import smile.data.measure.NominalScale;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.BooleanVector;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.FloatVector;
+import smile.data.vector.IntVector;
+import smile.data.vector.LongVector;
+import smile.data.vector.NullableBooleanVector;
+import smile.data.vector.NullableIntVector;
+import smile.data.vector.NullableLongVector;
+import smile.data.vector.NullableShortVector;
+import smile.data.vector.ShortVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.InstantColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.booleans.BooleanColumnType;
+import tech.tablesaw.columns.dates.PackedLocalDate;
+import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
+import tech.tablesaw.columns.instant.PackedInstant;
+import tech.tablesaw.columns.strings.DictionaryMap;
+import tech.tablesaw.columns.strings.StringColumnType;
+import tech.tablesaw.columns.times.PackedLocalTime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Tablesaw → Smile conversion for every common column type
+ *
+ * Concept: build each Smile vector from a primitive array, and record
+ * missing values in a BitSet mask (Smile's Nullable*Vector) instead of
+ * boxing or leaving sentinels behind.
+ *
+ * Column type        → Smile vector
+ * - DOUBLE / FLOAT   → DoubleVector / FloatVector (missing stays NaN)
+ * - INTEGER / LONG / SHORT → Int/Long/ShortVector, Nullable* when values are missing
+ * - BOOLEAN          → BooleanVector backed by a BitSet
+ * - LOCAL_DATE       → IntVector of days since 1970-01-01
+ * - LOCAL_DATE_TIME  → LongVector of milliseconds since 1970-01-01T00:00 (no zone)
+ * - INSTANT          → LongVector of epoch milliseconds (UTC)
+ * - STRING           → nominal IntVector, encoded from Tablesaw's dictionary
+ *                      (or a {@link NominalDictionaryRegistry} for stable codes)
+ *
+ * Dates become numbers because that is what Smile's models consume; keep the
+ * Tablesaw column if you need calendar values back.
+ */
+public final class TablesawSmileConverter {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int UNSEEN = -1;
+    private static final int MISSING = -2;
+
+    private TablesawSmileConverter() {
+    }
+
+    public static DataFrame toDataFrame(Table table) {
+        return toDataFrame(table, null);
+    }
+
+    /**
+     * Convert a table, encoding string columns with the registry's persistent
+     * dictionaries so codes stay stable across batches.
+     *
+     * @param registry shared dictionaries, or null to encode each column afresh
+     */
+    public static DataFrame toDataFrame(Table table, NominalDictionaryRegistry registry) {
+        ValueVector[] vectors = new ValueVector[table.columnCount()];
+        for (int j = 0; j < vectors.length; j++) {
+            vectors[j] = toVector(table.column(j), registry);
+        }
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Convert one column.
+     *
+     * @throws IllegalArgumentException for column types without a Smile mapping
+     */
+    public static ValueVector toVector(Column<?> col) {
+        return toVector(col, null);
+    }
+
+    /**
+     * Convert one column, using the registry (if not null) for string columns.
+     */
+    public static ValueVector toVector(Column<?> col, NominalDictionaryRegistry registry) {
+        return kernel(col).convert(col, registry);
+    }
+
+    /**
+     * Converts a whole column to a Smile vector.
+     */
+    @FunctionalInterface
+    interface ColumnKernel {
+        ValueVector convert(Column<?> col, NominalDictionaryRegistry registry);
+    }
+
+    /**
+     * The conversion for a column's type, resolved once so callers that
+     * convert many same-typed columns (ConversionPlan) can keep it. A column
+     * type without a Smile mapping gets a kernel that throws when used.
+     */
+    static ColumnKernel kernel(Column<?> col) {
+        if (col instanceof DoubleColumn) {
+            return (c, registry) -> new DoubleVector(c.name(), ((DoubleColumn) c).asDoubleArray());
+        } else if (col instanceof FloatColumn) {
+            return (c, registry) -> new FloatVector(c.name(), ((FloatColumn) c).asFloatArray());
+        } else if (col instanceof IntColumn) {
+            return (c, registry) -> intVector((IntColumn) c);
+        } else if (col instanceof LongColumn) {
+            return (c, registry) -> longVector((LongColumn) c);
+        } else if (col instanceof ShortColumn) {
+            return (c, registry) -> shortVector((ShortColumn) c);
+        } else if (col instanceof BooleanColumn) {
+            return (c, registry) -> booleanVector((BooleanColumn) c);
+        } else if (col instanceof DateColumn) {
+            return (c, registry) -> dateVector((DateColumn) c);
+        } else if (col instanceof DateTimeColumn) {
+            return (c, registry) -> dateTimeVector((DateTimeColumn) c);
+        } else if (col instanceof InstantColumn) {
+            return (c, registry) -> instantVector((InstantColumn) c);
+        } else if (col instanceof StringColumn) {
+            return (c, registry) -> registry == null
+                    ? nominalVector((StringColumn) c)
+                    : registry.encode((StringColumn) c);
+        }
+        return (c, registry) -> {
+            throw new IllegalArgumentException(
+                    "No Smile mapping for column '" + c.name() + "' of type " + c.type());
+        };
+    }
+
+    static ValueVector intVector(IntColumn col) {
+        int[] data = col.asIntArray();
+        BitSet mask = null;
+        for (int i = 0; i < data.length; i++) {
+            if (col.isMissingValue(data[i])) {
+                mask = set(mask, i);
+            }
+        }
+        return mask == null ? new IntVector(col.name(), data) : new NullableIntVector(col.name(), data, mask);
+    }
+
+    static ValueVector longVector(LongColumn col) {
+        long[] data = col.asLongArray();
+        BitSet mask = null;
+        for (int i = 0; i < data.length; i++) {
+            if (col.isMissingValue(data[i])) {
+                mask = set(mask, i);
+            }
+        }
+        return mask == null ? new LongVector(col.name(), data) : new NullableLongVector(col.name(), data, mask);
+    }
+
+    static ValueVector shortVector(ShortColumn col) {
+        short[] data = col.asShortArray();
+        BitSet mask = null;
+        for (int i = 0; i < data.length; i++) {
+            if (col.isMissingValue(data[i])) {
+                mask = set(mask, i);
+            }
+        }
+        return mask == null ? new ShortVector(col.name(), data) : new NullableShortVector(col.name(), data, mask);
+    }
+
+    static ValueVector booleanVector(BooleanColumn col) {
+        int n = col.size();
+        BitSet values = new BitSet(n);
+        BitSet mask = null;
+        for (int i = 0; i < n; i++) {
+            byte b = col.getByte(i);
+            if (b == BooleanColumnType.BYTE_TRUE) {
+                values.set(i);
+            } else if (b == BooleanColumnType.MISSING_VALUE) {
+                mask = set(mask, i);
+            }
+        }
+        return mask == null
+                ? new BooleanVector(col.name(), n, values)
+                : new NullableBooleanVector(col.name(), n, values, mask);
+    }
+
+    static ValueVector dateVector(DateColumn col) {
+        int n = col.size();
+        int[] days = new int[n];
+        BitSet mask = null;
+        for (int i = 0; i < n; i++) {
+            if (col.isMissing(i)) {
+                mask = set(mask, i);
+            } else {
+                days[i] = (int) PackedLocalDate.toEpochDay(col.getIntInternal(i));
+            }
+        }
+        return mask == null ? new IntVector(col.name(), days) : new NullableIntVector(col.name(), days, mask);
+    }
+
+    static ValueVector dateTimeVector(DateTimeColumn col) {
+        int n = col.size();
+        long[] millis = new long[n];
+        BitSet mask = null;
+        for (int i = 0; i < n; i++) {
+            if (col.isMissing(i)) {
+                mask = set(mask, i);
+            } else {
+                long packed = col.getLongInternal(i);
+                millis[i] = PackedLocalDate.toEpochDay(PackedLocalDateTime.date(packed)) * MILLIS_PER_DAY
+                        + PackedLocalDateTime.getMillisecondOfDay(packed);
+            }
+        }
+        return mask == null ? new LongVector(col.name(), millis) : new NullableLongVector(col.name(), millis, mask);
+    }
+
+    static ValueVector instantVector(InstantColumn col) {
+        int n = col.size();
+        long[] millis = new long[n];
+        BitSet mask = null;
+        for (int i = 0; i < n; i++) {
+            if (col.isMissing(i)) {
+                mask = set(mask, i);
+            } else {
+                long packed = col.getLongInternal(i);
+                millis[i] = PackedLocalDate.toEpochDay(PackedInstant.date(packed)) * MILLIS_PER_DAY
+                        + PackedLocalTime.getMillisecondOfDay(PackedInstant.time(packed));
+            }
+        }
+        return mask == null ? new LongVector(col.name(), millis) : new NullableLongVector(col.name(), millis, mask);
+    }
+
+    /**
+     * Nominal encoding straight from Tablesaw's dictionary.
+     *
+     * Each row is already stored as a small integer key; we map keys to Smile
+     * codes with a primitive int → int table, so a String is only touched once
+     * per distinct value. Levels are sorted, matching ValueVector.nominal(),
+     * and Tablesaw's missing value ("") is masked rather than made a level.
+     */
+    static ValueVector nominalVector(StringColumn col) {
+        DictionaryMap dictionary = col.getDictionary();
+        int n = col.size();
+
+        Int2IntOpenHashMap keyToCode = new Int2IntOpenHashMap();
+        keyToCode.defaultReturnValue(UNSEEN);
+        List<String> levels = new ArrayList<>();
+        int[] codes = new int[n];
+        BitSet mask = null;
+
+        for (int i = 0; i < n; i++) {
+            int key = dictionary.getKeyForIndex(i);
+            int code = keyToCode.get(key);
+            if (code == UNSEEN) {
+                String value = dictionary.getValueForKey(key);
+                if (StringColumnType.valueIsMissing(value)) {
+                    code = MISSING;
+                } else {
+                    code = levels.size();
+                    levels.add(value);
+                }
+                keyToCode.put(key, code);
+            }
+            if (code == MISSING) {
+                mask = set(mask, i);
+                codes[i] = -1;
+            } else {
+                codes[i] = code;
+            }
+        }
+
+        // Codes above are in first-seen order; remap them to sorted level order
+        String[] sorted = levels.toArray(new String[0]);
+        Arrays.sort(sorted);
+        int[] remap = new int[sorted.length];
+        for (int p = 0; p < remap.length; p++) {
+            remap[p] = Arrays.binarySearch(sorted, levels.get(p));
+        }
+        for (int i = 0; i < n; i++) {
+            if (codes[i] >= 0) {
+                codes[i] = remap[codes[i]];
+            }
+        }
+
+        NominalScale scale = new NominalScale(sorted);
+        if (mask == null) {
+            return new IntVector(new StructField(col.name(), DataTypes.IntType, scale), codes);
+        }
+        return new NullableIntVector(new StructField(col.name(), DataTypes.NullableIntType, scale), codes, mask);
+    }
+
+    private static BitSet set(BitSet mask, int i) {
+        if (mask == null) {
+            mask = new BitSet();
+        }
+        mask.set(i);
+        return mask;
+    }
+}
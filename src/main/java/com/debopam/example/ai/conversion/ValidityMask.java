@@ -0,0 +1,292 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import smile.data.DataFrame;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.FloatVector;
+import smile.data.vector.NullableDoubleVector;
+import smile.data.vector.NullableFloatVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Which cells of a converted matrix were missing, one bit per cell
+ *
+ * Problem: Tablesaw knows which values are missing, but once a table is an
+ * INDArray the only trace is a NaN, and every imputer or model downstream
+ * has to rescan the data to find them again.
+ * Solution: record missingness once, during conversion, as a bitmap per
+ * column, and hand it along with the data:
+ * - {@link TablesawNd4jConverter#toMaskedMatrix(Table)} builds matrix and
+ *   mask in the same pass
+ * - {@link Nd4jSmileConverter#toDataFrame(INDArray, String[], ValidityMask)}
+ *   turns it into Smile null masks (Nullable*Vectors)
+ * - {@link #completeRows()} and {@link #toINDArray()} serve row filtering and
+ *   masked arithmetic on the ND4j side
+ *
+ * Memory: complete columns store nothing; the others take rows / 8 bytes.
+ *
+ * Usage:
+ * <pre>
+ * MaskedMatrix data = TablesawNd4jConverter.toMaskedMatrix(table);
+ * int[] keep = data.mask().completeRows();             // listwise deletion
+ * INDArray x = data.matrix().getRows(keep);
+ * </pre>
+ */
+public final class ValidityMask {
+
+    private final int rows;
+    /** Per column: a bit set for each missing row, or null if none is missing. */
+    private final long[][] missing;
+
+    ValidityMask(int rows, long[][] missing) {
+        this.rows = rows;
+        this.missing = missing;
+    }
+
+    /**
+     * Missing values as Tablesaw defines them ({@code Column.isMissing}).
+     */
+    public static ValidityMask of(Table table) {
+        int rows = table.rowCount();
+        long[][] missing = new long[table.columnCount()][];
+        for (int j = 0; j < missing.length; j++) {
+            Column<?> col = table.column(j);
+            for (int i = 0; i < rows; i++) {
+                if (col.isMissing(i)) {
+                    missing[j] = set(missing[j], i, rows);
+                }
+            }
+        }
+        return new ValidityMask(rows, missing);
+    }
+
+    /**
+     * Smile nulls, plus NaN in floating-point vectors.
+     */
+    public static ValidityMask of(DataFrame df) {
+        int rows = df.nrow();
+        long[][] missing = new long[df.ncol()][];
+        for (int j = 0; j < missing.length; j++) {
+            ValueVector vector = df.column(j);
+            boolean floating = vector instanceof DoubleVector || vector instanceof NullableDoubleVector
+                    || vector instanceof FloatVector || vector instanceof NullableFloatVector;
+            if (!floating && vector.getNullCount() == 0) {
+                continue;
+            }
+            for (int i = 0; i < rows; i++) {
+                if (vector.isNullAt(i) || floating && Double.isNaN(vector.getDouble(i))) {
+                    missing[j] = set(missing[j], i, rows);
+                }
+            }
+        }
+        return new ValidityMask(rows, missing);
+    }
+
+    /**
+     * NaN cells of a rows × cols matrix; for data that did not come through
+     * {@link TablesawNd4jConverter#toMaskedMatrix(Table)}.
+     */
+    public static ValidityMask ofNaN(INDArray matrix) {
+        if (matrix.rank() != 2) {
+            throw new IllegalArgumentException("Expected a 2D array, got rank " + matrix.rank());
+        }
+        int rows = (int) matrix.rows();
+        long[][] missing = new long[(int) matrix.columns()][];
+        if (rows > 0) {
+            INDArray source = Nd4jSmileConverter.columnMajor(matrix);
+            for (int j = 0; j < missing.length; j++) {
+                missing[j] = nanBits(Nd4jSmileConverter.column(source, j, rows), rows);
+            }
+        }
+        return new ValidityMask(rows, missing);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return missing.length;
+    }
+
+    public boolean isValid(int row, int column) {
+        return !isMissing(row, column);
+    }
+
+    public boolean isMissing(int row, int column) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + rows + " rows");
+        }
+        long[] words = missing[column];
+        return words != null && (words[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public int missingCount(int column) {
+        long[] words = missing[column];
+        if (words == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public long missingCount() {
+        long count = 0;
+        for (int j = 0; j < missing.length; j++) {
+            count += missingCount(j);
+        }
+        return count;
+    }
+
+    public boolean anyMissing() {
+        for (long[] words : missing) {
+            if (words != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean anyMissing(int column) {
+        return missing[column] != null;
+    }
+
+    /**
+     * Missing rows of one column in the form Smile's Nullable*Vectors take,
+     * or null if the column is complete.
+     */
+    public BitSet nullMask(int column) {
+        return missing[column] == null ? null : BitSet.valueOf(missing[column]);
+    }
+
+    /**
+     * Indices of the rows with no missing value in any column, ascending.
+     */
+    public int[] completeRows() {
+        long[] any = new long[words(rows)];
+        for (long[] words : missing) {
+            if (words != null) {
+                for (int w = 0; w < any.length; w++) {
+                    any[w] |= words[w];
+                }
+            }
+        }
+        int[] complete = new int[rows];
+        int n = 0;
+        for (int i = 0; i < rows; i++) {
+            if ((any[i >>> 6] & (1L << i)) == 0) {
+                complete[n++] = i;
+            }
+        }
+        return Arrays.copyOf(complete, n);
+    }
+
+    /**
+     * The mask as a rows × cols DOUBLE 'f' order matrix: 1 for valid cells,
+     * 0 for missing ones, e.g. for {@code x.mul(mask)} or masked losses.
+     */
+    public INDArray toINDArray() {
+        int cols = missing.length;
+        if (rows == 0 || cols == 0) {
+            return Nd4j.create(DataType.DOUBLE, rows, cols);
+        }
+        INDArray mask = Nd4j.createUninitialized(DataType.DOUBLE, new long[]{rows, cols}, 'f');
+        double[] ones = new double[rows];
+        Arrays.fill(ones, 1.0);
+        for (int j = 0; j < cols; j++) {
+            DoubleBuffer column = NativeBuffers.doubles(mask, (long) j * rows, rows);
+            column.put(ones);
+            long[] words = missing[j];
+            if (words != null) {
+                for (int i = nextSetBit(words, 0); i >= 0; i = nextSetBit(words, i + 1)) {
+                    column.put(i, 0.0);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of a subset of columns, e.g. the features fed to a model.
+     */
+    public ValidityMask columns(int... indices) {
+        long[][] selected = new long[indices.length][];
+        for (int k = 0; k < indices.length; k++) {
+            selected[k] = missing[indices[k]];
+        }
+        return new ValidityMask(rows, selected);
+    }
+
+    /**
+     * Bytes held by the bitmaps.
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (long[] words : missing) {
+            if (words != null) {
+                bytes += (long) words.length * Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Bitmap of the NaN entries of {@code values[0..rows)}, or null if there
+     * are none. Used by the converters while the column is still in cache.
+     */
+    static long[] nanBits(double[] values, int rows) {
+        long[] words = null;
+        for (int i = 0; i < rows; i++) {
+            double v = values[i];
+            if (v != v) {
+                words = set(words, i, rows);
+            }
+        }
+        return words;
+    }
+
+    private static long[] set(long[] words, int i, int rows) {
+        if (words == null) {
+            words = new long[words(rows)];
+        }
+        words[i >>> 6] |= 1L << i;
+        return words;
+    }
+
+    private static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    private static int nextSetBit(long[] words, int from) {
+        int w = from >>> 6;
+        if (w >= words.length) {
+            return -1;
+        }
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidityMask[" + rows + " x " + missing.length + ", " + missingCount() + " missing]";
+    }
+}
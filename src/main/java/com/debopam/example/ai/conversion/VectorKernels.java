@@ -0,0 +1,198 @@
+package com.debopam.example.ai.conversion;
+
+/**
+ * Array kernels for the conversion paths, SIMD where the JVM allows it
+ *
+ * Problem: widening an int column to doubles (or narrowing doubles to floats)
+ * one element at a time leaves most of each vector register idle.
+ * Solution: the same loops written with the {@code jdk.incubator.vector} API,
+ * which the JIT compiles to AVX2 / AVX-512 (or NEON) instructions, one full
+ * register of lanes per iteration.
+ *
+ * The Vector API is an incubator module, so it is only used when the JVM was
+ * started with {@code --add-modules jdk.incubator.vector}; otherwise (or with
+ * {@code -Dkernels.scalar=true}) every method runs a plain scalar loop with
+ * identical results. {@link #implementation()} says which one is active.
+ *
+ * Tablesaw's missing-value indicators are handled in the kernels: a missing
+ * int widens to NaN.
+ */
+public final class VectorKernels {
+
+    /**
+     * One implementation per instruction path.
+     */
+    interface Impl {
+        void widen(int[] src, int srcOffset, double[] dst, int dstOffset, int length, int missing);
+
+        void narrow(double[] src, int srcOffset, float[] dst, int dstOffset, int length);
+
+        void scaledCopy(double[] src, int srcOffset, double[] dst, int dstOffset, int length,
+                        double shift, double scale);
+
+        void gather(double[] src, int srcOffset, int stride, double[] dst, int dstOffset, int length);
+
+        void multiply(double[] a, int aOffset, int[] b, int bOffset, double[] dst, int dstOffset, int length,
+                      int missing);
+
+        String describe();
+    }
+
+    private static final Impl IMPL = select();
+
+    private VectorKernels() {
+    }
+
+    /**
+     * {@code dst[dstOffset + k] = src[srcOffset + k]} as a double, with
+     * {@code missing} (e.g. {@code IntColumnType.missingValueIndicator()})
+     * becoming NaN.
+     */
+    public static void widen(int[] src, int srcOffset, double[] dst, int dstOffset, int length, int missing) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        IMPL.widen(src, srcOffset, dst, dstOffset, length, missing);
+    }
+
+    /**
+     * {@code dst[dstOffset + k] = (float) src[srcOffset + k]}, rounding to
+     * nearest (NaN stays NaN).
+     */
+    public static void narrow(double[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        IMPL.narrow(src, srcOffset, dst, dstOffset, length);
+    }
+
+    /**
+     * {@code dst[dstOffset + k] = (src[srcOffset + k] - shift) / scale};
+     * standardization is {@code shift = mean, scale = std}. Source and
+     * destination may be the same range.
+     */
+    public static void scaledCopy(double[] src, int srcOffset, double[] dst, int dstOffset, int length,
+                                  double shift, double scale) {
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        IMPL.scaledCopy(src, srcOffset, dst, dstOffset, length, shift, scale);
+    }
+
+    /**
+     * {@code dst[dstOffset + k] = src[srcOffset + k * stride]}, e.g. one
+     * column of a row-major block (stride = column count).
+     */
+    public static void gather(double[] src, int srcOffset, int stride, double[] dst, int dstOffset, int length) {
+        if (stride <= 0) {
+            throw new IllegalArgumentException("stride must be positive: " + stride);
+        }
+        if (length > 0) {
+            checkRange(src.length, srcOffset, (long) (length - 1) * stride + 1);
+        }
+        checkRange(dst.length, dstOffset, length);
+        IMPL.gather(src, srcOffset, stride, dst, dstOffset, length);
+    }
+
+    /**
+     * {@code dst[dstOffset + k] = a[aOffset + k] * b[bOffset + k]}, widening
+     * the ints on the fly; a {@code missing} int gives NaN. Only the
+     * benchmark uses it, to compare against the scalar loop.
+     */
+    static void multiply(double[] a, int aOffset, int[] b, int bOffset, double[] dst, int dstOffset,
+                                int length, int missing) {
+        checkRange(a.length, aOffset, length);
+        checkRange(b.length, bOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        IMPL.multiply(a, aOffset, b, bOffset, dst, dstOffset, length, missing);
+    }
+
+    public static boolean isVectorized() {
+        return !(IMPL instanceof Scalar);
+    }
+
+    /**
+     * The active implementation, e.g. "Vector API, 512-bit (8 doubles)" or "scalar".
+     */
+    public static String implementation() {
+        return IMPL.describe();
+    }
+
+    private static void checkRange(int arrayLength, int offset, long length) {
+        if (offset < 0 || length < 0 || offset + length > arrayLength) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + offset + ", " + (offset + length)
+                    + ") out of bounds for length " + arrayLength);
+        }
+    }
+
+    /**
+     * Load the SIMD class only when its module is present, so this class
+     * links (and falls back) on a JVM without it.
+     */
+    private static Impl select() {
+        if (Boolean.getBoolean("kernels.scalar")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new Scalar();
+        }
+        try {
+            return (Impl) Class.forName(VectorKernels.class.getPackageName() + ".SimdKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Scalar();
+        }
+    }
+
+    /**
+     * Reference implementation; also handles the tails of the SIMD loops.
+     */
+    static final class Scalar implements Impl {
+
+        @Override
+        public void widen(int[] src, int srcOffset, double[] dst, int dstOffset, int length, int missing) {
+            for (int k = 0; k < length; k++) {
+                int v = src[srcOffset + k];
+                dst[dstOffset + k] = v == missing ? Double.NaN : v;
+            }
+        }
+
+        @Override
+        public void narrow(double[] src, int srcOffset, float[] dst, int dstOffset, int length) {
+            for (int k = 0; k < length; k++) {
+                dst[dstOffset + k] = (float) src[srcOffset + k];
+            }
+        }
+
+        @Override
+        public void scaledCopy(double[] src, int srcOffset, double[] dst, int dstOffset, int length,
+                               double shift, double scale) {
+            if (srcOffset == dstOffset) {
+                // One index for both arrays: the JIT can vectorize this even if src == dst
+                for (int i = srcOffset, end = srcOffset + length; i < end; i++) {
+                    dst[i] = (src[i] - shift) / scale;
+                }
+                return;
+            }
+            for (int k = 0; k < length; k++) {
+                dst[dstOffset + k] = (src[srcOffset + k] - shift) / scale;
+            }
+        }
+
+        @Override
+        public void gather(double[] src, int srcOffset, int stride, double[] dst, int dstOffset, int length) {
+            for (int k = 0, s = srcOffset; k < length; k++, s += stride) {
+                dst[dstOffset + k] = src[s];
+            }
+        }
+
+        @Override
+        public void multiply(double[] a, int aOffset, int[] b, int bOffset, double[] dst, int dstOffset, int length,
+                             int missing) {
+            for (int k = 0; k < length; k++) {
+                int v = b[bOffset + k];
+                dst[dstOffset + k] = v == missing ? Double.NaN : a[aOffset + k] * v;
+            }
+        }
+
+        @Override
+        public String describe() {
+            return "scalar";
+        }
+    }
+}
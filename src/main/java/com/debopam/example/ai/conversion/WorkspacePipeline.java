@@ -0,0 +1,192 @@
+package com.debopam.example.ai.conversion;
+
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.abstracts.Nd4jWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.ResetPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import smile.data.DataFrame;
+import tech.tablesaw.api.Table;
+
+import java.util.function.Function;
+
+/**
+ * Batch pipeline (Tablesaw → ND4j → standardize → Smile) inside a reused ND4j workspace
+ *
+ * Problem: every batch allocates fresh native memory for its matrix and
+ * every ND4j op result. In a loop that is constant off-heap churn, freed only
+ * when the GC gets round to the Java wrappers.
+ * Solution: run each batch inside one {@link MemoryWorkspace}. The workspace
+ * learns the size of a batch on the first pass, then hands out the same
+ * native block every time; closing the batch scope just rewinds an offset.
+ *
+ * Instrumentation: after each batch, {@link #lastSpilledBytes()} and
+ * {@link #lastPinnedBytes()} report memory that did not fit the workspace and
+ * was allocated outside it. Both drop to zero once the workspace has learned
+ * its size (from the second batch on, unless a batch grows).
+ *
+ * Anything returned from a stage must not point into workspace memory: the
+ * Smile DataFrame from {@link #process(Table)} is on the heap, and an INDArray
+ * must be {@code detach()}ed. Workspaces belong to a thread, so use one
+ * pipeline per thread.
+ *
+ * Usage:
+ * <pre>
+ * try (WorkspacePipeline pipeline = new WorkspacePipeline("features", scaler)) {
+ *     for (Table batch : batches) {
+ *         DataFrame df = pipeline.process(batch);
+ *     }
+ * }
+ * </pre>
+ */
+public final class WorkspacePipeline implements AutoCloseable {
+
+    private final String workspaceId;
+    private final WorkspaceConfiguration configuration;
+    private final StandardScaler scaler;
+    private Thread owner;
+
+    private long batches;
+    private long lastCycleBytes;
+    private long lastSpilledBytes;
+    private long lastPinnedBytes;
+
+    /**
+     * Pipeline that standardizes each batch with its own statistics.
+     */
+    public WorkspacePipeline(String workspaceId) {
+        this(workspaceId, defaultConfiguration(), null);
+    }
+
+    /**
+     * Pipeline that standardizes with a fitted scaler.
+     */
+    public WorkspacePipeline(String workspaceId, StandardScaler scaler) {
+        this(workspaceId, defaultConfiguration(), scaler);
+    }
+
+    /**
+     * @param scaler fitted scaler, or null to standardize each batch with its own statistics
+     */
+    public WorkspacePipeline(String workspaceId, WorkspaceConfiguration configuration, StandardScaler scaler) {
+        this.workspaceId = workspaceId;
+        this.configuration = configuration;
+        this.scaler = scaler;
+    }
+
+    /**
+     * Per-batch workspace: sized from the first batch (plus 30% headroom),
+     * rewound when each batch ends, and reallocated if a later batch is larger.
+     *
+     * For a ring buffer shared by consecutive batches (e.g. with prefetching)
+     * use {@code ResetPolicy.ENDOFBUFFER_REACHED} with a fixed {@code initialSize}.
+     */
+    public static WorkspaceConfiguration defaultConfiguration() {
+        return WorkspaceConfiguration.builder()
+                .policyLearning(LearningPolicy.FIRST_LOOP)
+                .policyAllocation(AllocationPolicy.OVERALLOCATE)
+                .overallocationLimit(0.3)
+                .policySpill(SpillPolicy.REALLOCATE)
+                .policyReset(ResetPolicy.BLOCK_LEFT)
+                .build();
+    }
+
+    /**
+     * Convert, standardize and hand the batch to Smile.
+     */
+    public DataFrame process(Table batch) {
+        String[] names = batch.columnNames().toArray(new String[0]);
+        return process(batch, matrix -> Nd4jSmileConverter.toDataFrame(matrix, names));
+    }
+
+    /**
+     * Convert and standardize the batch inside the workspace, then apply
+     * {@code stage} to the standardized matrix.
+     *
+     * @param stage must not return workspace memory (detach() INDArrays)
+     */
+    public <T> T process(Table batch, Function<INDArray, T> stage) {
+        checkThread();
+        Nd4jWorkspace workspace = workspace();
+        long spilledBefore = workspace.getSpilledSize();
+        long pinnedBefore = workspace.getPinnedSize();
+
+        T result;
+        try (MemoryWorkspace ignored = workspace.notifyScopeEntered()) {
+            INDArray matrix = ConversionPlan.of(batch).toMatrix(batch);
+            if (scaler == null) {
+                Standardization.standardizeInPlace(matrix);
+            } else {
+                scaler.transformInPlace(matrix);
+            }
+            result = stage.apply(matrix);
+
+            // Read before the scope closes: closing may free spilled blocks and reset the counters
+            lastCycleBytes = workspace.getThisCycleAllocations();
+            lastSpilledBytes = workspace.getSpilledSize() - spilledBefore;
+            lastPinnedBytes = workspace.getPinnedSize() - pinnedBefore;
+        }
+        batches++;
+        return result;
+    }
+
+    public long batchCount() {
+        return batches;
+    }
+
+    /**
+     * Bytes requested from the workspace by the last batch.
+     */
+    public long lastCycleBytes() {
+        return lastCycleBytes;
+    }
+
+    /**
+     * Bytes the last batch had to allocate outside the workspace (spilled).
+     */
+    public long lastSpilledBytes() {
+        return lastSpilledBytes;
+    }
+
+    /**
+     * Bytes the last batch pinned outside the workspace (ring-buffer mode).
+     */
+    public long lastPinnedBytes() {
+        return lastPinnedBytes;
+    }
+
+    /**
+     * Current size of the workspace's native block.
+     */
+    public long workspaceBytes() {
+        return owner == null ? 0 : workspace().getCurrentSize();
+    }
+
+    /**
+     * Release the workspace's native memory.
+     */
+    @Override
+    public void close() {
+        if (owner != null) {
+            checkThread();
+            Nd4j.getWorkspaceManager().destroyWorkspace(workspace());
+            owner = null;
+        }
+    }
+
+    private Nd4jWorkspace workspace() {
+        return (Nd4jWorkspace) Nd4j.getWorkspaceManager().getWorkspaceForCurrentThread(configuration, workspaceId);
+    }
+
+    private void checkThread() {
+        if (owner == null) {
+            owner = Thread.currentThread();
+        } else if (owner != Thread.currentThread()) {
+            throw new IllegalStateException("Workspace '" + workspaceId + "' belongs to thread " + owner.getName());
+        }
+    }
+}
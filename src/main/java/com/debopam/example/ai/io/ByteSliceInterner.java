@@ -0,0 +1,114 @@
+package com.debopam.example.ai.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Byte range → String cache for one string column.
+ *
+ * Categorical columns repeat a handful of values millions of times. Looking
+ * the raw bytes up here means each distinct value is decoded into a String
+ * once; every later occurrence is a hash, a byte compare and a shared
+ * reference, which also lets Tablesaw's dictionary reuse the cached hash code.
+ *
+ * High-cardinality columns (ids, free text) gain nothing, so once
+ * {@link #MAX_ENTRIES} distinct values are seen the cache stops growing and
+ * new values are simply decoded.
+ */
+final class ByteSliceInterner {
+
+    static final int MAX_ENTRIES = 1 << 16;
+
+    private final Charset charset;
+    private byte[][] keys = new byte[64][];
+    private String[] values = new String[64];
+    private int[] hashes = new int[64];
+    private int size;
+    private byte[] decodeBuffer = new byte[64];
+
+    ByteSliceInterner(Charset charset) {
+        this.charset = charset;
+    }
+
+    String intern(ByteBuffer bytes, int from, int to) {
+        int hash = hash(bytes, from, to);
+        int mask = keys.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            byte[] key = keys[slot];
+            if (key == null) {
+                String value = decode(bytes, from, to);
+                if (size < MAX_ENTRIES) {
+                    keys[slot] = Arrays.copyOf(decodeBuffer, to - from);
+                    values[slot] = value;
+                    hashes[slot] = hash;
+                    if (++size * 2 > keys.length) {
+                        grow();
+                    }
+                }
+                return value;
+            }
+            if (hashes[slot] == hash && matches(key, bytes, from, to)) {
+                return values[slot];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    Charset charset() {
+        return charset;
+    }
+
+    private String decode(ByteBuffer bytes, int from, int to) {
+        int length = to - from;
+        if (decodeBuffer.length < length) {
+            decodeBuffer = new byte[Math.max(length, decodeBuffer.length * 2)];
+        }
+        bytes.get(from, decodeBuffer, 0, length);
+        return new String(decodeBuffer, 0, length, charset);
+    }
+
+    private static boolean matches(byte[] key, ByteBuffer bytes, int from, int to) {
+        if (key.length != to - from) {
+            return false;
+        }
+        for (int k = 0; k < key.length; k++) {
+            if (key[k] != bytes.get(from + k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(ByteBuffer bytes, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + bytes.get(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void grow() {
+        byte[][] oldKeys = keys;
+        String[] oldValues = values;
+        int[] oldHashes = hashes;
+        keys = new byte[oldKeys.length * 2][];
+        values = new String[keys.length];
+        hashes = new int[keys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+}
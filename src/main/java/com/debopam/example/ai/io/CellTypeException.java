@@ -0,0 +1,14 @@
+package com.debopam.example.ai.io;
+
+/**
+ * A cell that does not parse as its column's type, e.g. a decimal in an
+ * INTEGER column given through {@code columnTypes}.
+ */
+public final class CellTypeException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    CellTypeException(String message) {
+        super(message);
+    }
+}
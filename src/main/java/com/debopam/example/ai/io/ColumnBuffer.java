@@ -0,0 +1,411 @@
+package com.debopam.example.ai.io;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.columns.Column;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable primitive array that one CSV column is parsed into.
+ *
+ * Numbers go straight from the mapped bytes into a {@code double[]},
+ * {@code int[]} or {@code long[]}; missing cells are stored as Tablesaw's
+ * missing values (NaN, {@code Integer.MIN_VALUE}, {@code Long.MIN_VALUE}).
+ * {@link #toColumn()} hands the array to Tablesaw without another copy where
+ * Tablesaw allows it (double and int columns).
+ */
+abstract class ColumnBuffer {
+
+    final String name;
+
+    ColumnBuffer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Buffers for the column types the byte readers parse themselves.
+     *
+     * @throws IllegalArgumentException for any other type
+     */
+    static ColumnBuffer create(ColumnType type, String name, int capacity, Charset charset) {
+        if (type == ColumnType.DOUBLE) {
+            return new Doubles(name, capacity);
+        }
+        if (type == ColumnType.INTEGER) {
+            return new Ints(name, capacity);
+        }
+        if (type == ColumnType.LONG) {
+            return new Longs(name, capacity);
+        }
+        if (type == ColumnType.STRING) {
+            return new Strings(name, capacity, charset);
+        }
+        throw new IllegalArgumentException("Column '" + name + "': " + type
+                + " is not supported here (DOUBLE, INTEGER, LONG, STRING or SKIP); use Table.read() for it");
+    }
+
+    abstract ColumnType type();
+
+    abstract int size();
+
+    /**
+     * Append {@code bytes[from, to)}.
+     *
+     * @return false, appending nothing, if the text is not a value of this type
+     */
+    abstract boolean append(ByteBuffer bytes, int from, int to);
+
+    abstract void appendMissing();
+
+    /**
+     * A buffer of a wider type holding the values so far, that the cell that
+     * did not fit can be appended to; null if there is none.
+     */
+    ColumnBuffer widenFor(ByteBuffer bytes, int from, int to) {
+        return null;
+    }
+
+    abstract Column<?> toColumn();
+
+    /**
+     * One buffer with the parts' values in order, in the widest of their
+     * types (chunks parsed separately may have widened a column differently).
+     */
+    static ColumnBuffer concat(List<ColumnBuffer> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        long total = 0;
+        int widest = 0;
+        for (ColumnBuffer part : parts) {
+            total += part.size();
+            widest = Math.max(widest, rank(part));
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(total + " rows do not fit in a Tablesaw column");
+        }
+        String name = parts.get(0).name;
+        int size = (int) total;
+        int at = 0;
+        switch (widest) {
+            case 0: {
+                Ints result = new Ints(name, size);
+                for (ColumnBuffer part : parts) {
+                    System.arraycopy(((Ints) part).values, 0, result.values, at, part.size());
+                    at += part.size();
+                }
+                result.size = size;
+                return result;
+            }
+            case 1: {
+                Longs result = new Longs(name, size);
+                for (ColumnBuffer part : parts) {
+                    if (part instanceof Longs) {
+                        System.arraycopy(((Longs) part).values, 0, result.values, at, part.size());
+                    } else {
+                        int[] ints = ((Ints) part).values;
+                        for (int i = 0; i < part.size(); i++) {
+                            result.values[at + i] = ints[i] == Integer.MIN_VALUE ? Long.MIN_VALUE : ints[i];
+                        }
+                    }
+                    at += part.size();
+                }
+                result.size = size;
+                return result;
+            }
+            case 2: {
+                Doubles result = new Doubles(name, size);
+                for (ColumnBuffer part : parts) {
+                    if (part instanceof Doubles) {
+                        System.arraycopy(((Doubles) part).values, 0, result.values, at, part.size());
+                    } else if (part instanceof Longs) {
+                        long[] longs = ((Longs) part).values;
+                        for (int i = 0; i < part.size(); i++) {
+                            result.values[at + i] = longs[i] == Long.MIN_VALUE ? Double.NaN : longs[i];
+                        }
+                    } else {
+                        int[] ints = ((Ints) part).values;
+                        for (int i = 0; i < part.size(); i++) {
+                            result.values[at + i] = ints[i] == Integer.MIN_VALUE ? Double.NaN : ints[i];
+                        }
+                    }
+                    at += part.size();
+                }
+                result.size = size;
+                return result;
+            }
+            default: {
+                Strings result = new Strings(name, size, ((Strings) parts.get(0)).interner.charset());
+                for (ColumnBuffer part : parts) {
+                    System.arraycopy(((Strings) part).values, 0, result.values, at, part.size());
+                    at += part.size();
+                }
+                result.size = size;
+                return result;
+            }
+        }
+    }
+
+    private static int rank(ColumnBuffer buffer) {
+        return buffer instanceof Ints ? 0 : buffer instanceof Longs ? 1 : buffer instanceof Doubles ? 2 : 3;
+    }
+
+    static int grow(int length) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, length + (length >> 1)));
+    }
+
+    // ==================== Implementations ====================
+
+    static final class Doubles extends ColumnBuffer {
+        double[] values;
+        int size;
+
+        Doubles(String name, int capacity) {
+            super(name);
+            values = new double[capacity];
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.DOUBLE;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean append(ByteBuffer bytes, int from, int to) {
+            double value;
+            try {
+                value = FastNumbers.parseDouble(bytes, from, to);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+            return true;
+        }
+
+        @Override
+        void appendMissing() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = Double.NaN;
+        }
+
+        @Override
+        Column<?> toColumn() {
+            double[] data = values.length - size > values.length / 8 ? Arrays.copyOf(values, size) : values;
+            return new ParsedDoubleColumn(name, DoubleArrayList.wrap(data, size));
+        }
+    }
+
+    static final class Ints extends ColumnBuffer {
+        int[] values;
+        int size;
+
+        Ints(String name, int capacity) {
+            super(name);
+            values = new int[capacity];
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.INTEGER;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean append(ByteBuffer bytes, int from, int to) {
+            long value = FastNumbers.parseLong(bytes, from, to);
+            if (value <= Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = (int) value;
+            return true;
+        }
+
+        @Override
+        void appendMissing() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = Integer.MIN_VALUE;
+        }
+
+        @Override
+        ColumnBuffer widenFor(ByteBuffer bytes, int from, int to) {
+            if (FastNumbers.parseLong(bytes, from, to) != FastNumbers.NOT_A_LONG) {
+                Longs longs = new Longs(name, values.length);
+                for (int i = 0; i < size; i++) {
+                    longs.values[i] = values[i] == Integer.MIN_VALUE ? Long.MIN_VALUE : values[i];
+                }
+                longs.size = size;
+                return longs;
+            }
+            if (FastNumbers.isDouble(bytes, from, to)) {
+                Doubles doubles = new Doubles(name, values.length);
+                for (int i = 0; i < size; i++) {
+                    doubles.values[i] = values[i] == Integer.MIN_VALUE ? Double.NaN : values[i];
+                }
+                doubles.size = size;
+                return doubles;
+            }
+            return null;
+        }
+
+        @Override
+        Column<?> toColumn() {
+            int[] data = values.length - size > values.length / 8 ? Arrays.copyOf(values, size) : values;
+            return new ParsedIntColumn(name, IntArrayList.wrap(data, size));
+        }
+    }
+
+    static final class Longs extends ColumnBuffer {
+        long[] values;
+        int size;
+
+        Longs(String name, int capacity) {
+            super(name);
+            values = new long[capacity];
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.LONG;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean append(ByteBuffer bytes, int from, int to) {
+            long value = FastNumbers.parseLong(bytes, from, to);
+            if (value == FastNumbers.NOT_A_LONG) {
+                return false;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+            return true;
+        }
+
+        @Override
+        void appendMissing() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = Long.MIN_VALUE;
+        }
+
+        @Override
+        ColumnBuffer widenFor(ByteBuffer bytes, int from, int to) {
+            if (!FastNumbers.isDouble(bytes, from, to)) {
+                return null;
+            }
+            Doubles doubles = new Doubles(name, values.length);
+            for (int i = 0; i < size; i++) {
+                doubles.values[i] = values[i] == Long.MIN_VALUE ? Double.NaN : values[i];
+            }
+            doubles.size = size;
+            return doubles;
+        }
+
+        @Override
+        Column<?> toColumn() {
+            // LongColumn has no constructor that takes the array, so this one copies
+            return LongColumn.create(name, Arrays.copyOf(values, size));
+        }
+    }
+
+    static final class Strings extends ColumnBuffer {
+        String[] values;
+        int size;
+        final ByteSliceInterner interner;
+
+        Strings(String name, int capacity, Charset charset) {
+            super(name);
+            values = new String[capacity];
+            interner = new ByteSliceInterner(charset);
+        }
+
+        @Override
+        ColumnType type() {
+            return ColumnType.STRING;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean append(ByteBuffer bytes, int from, int to) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = interner.intern(bytes, from, to);
+            return true;
+        }
+
+        @Override
+        void appendMissing() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = null;
+        }
+
+        @Override
+        Column<?> toColumn() {
+            StringColumn column = StringColumn.create(name);
+            for (int i = 0; i < size; i++) {
+                if (values[i] == null) {
+                    column.appendMissing();
+                } else {
+                    column.append(values[i]);
+                }
+            }
+            return column;
+        }
+    }
+
+    /**
+     * The data constructors are protected; these subclasses only open them.
+     */
+    private static final class ParsedDoubleColumn extends DoubleColumn {
+        ParsedDoubleColumn(String name, DoubleArrayList data) {
+            super(name, data);
+        }
+    }
+
+    private static final class ParsedIntColumn extends IntColumn {
+        ParsedIntColumn(String name, IntArrayList data) {
+            super(name, data);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.debopam.example.ai.io;
+
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.io.csv.CsvReadOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A CSV file as a sequence of fixed-size Tables, in bounded memory
+ *
+ * Problem: {@link MappedCsvReader} and {@code Table.read().csv(...)} build the
+ * whole table, so a file is limited by the heap even when the job only
+ * filters, aggregates or scores rows one batch at a time.
+ * Solution: parse the file into Tables of {@code batchRows} rows each and hand
+ * them out one by one. A background thread parses the next batch while the
+ * current one is being used (one batch of lookahead, as with prefetch in
+ * TableBatchIterator), so at most three batches are on the heap: the one in
+ * use, the one waiting and the one being parsed. The file is mapped
+ * {@value #WINDOW} bytes at a time.
+ *
+ * Options are the same as for {@link MappedCsvReader}: separator, quote,
+ * header, missing-value indicators, column types and sampling. Types are
+ * inferred from the sample up front, so every batch has the same columns; if a
+ * later cell does not fit a sampled type the column is widened from that batch
+ * on (earlier batches keep the narrower type). Pass {@code columnTypes}, or
+ * {@code sample(false)} for an extra pass over the file, when every batch
+ * must have exactly the same types.
+ *
+ * Usage:
+ * <pre>
+ * try (CsvBatchReader batches = new CsvBatchReader(options, 100_000)) {
+ *     double total = batches.stream()
+ *             .mapToDouble(batch -> batch.doubleColumn("amount").sum())
+ *             .sum();
+ * }
+ * </pre>
+ */
+public final class CsvBatchReader implements Iterator<Table>, AutoCloseable {
+
+    static final int WINDOW = 64 << 20;
+
+    private final FileChannel channel;
+    private final String tableName;
+    private final List<String> columnNames;
+    private final BlockingQueue<Batch> ready = new ArrayBlockingQueue<>(1);
+    private final Thread producer;
+    private Batch pending;
+    private volatile boolean closed;
+
+    public CsvBatchReader(Path file, int batchRows) throws IOException {
+        this(CsvReadOptions.builder(file.toFile()).build(), batchRows);
+    }
+
+    /**
+     * Reads the header and the type sample now; batches are parsed from here on
+     * in the background.
+     *
+     * @throws IllegalArgumentException if batchRows is not positive, the options do not
+     *                                  name a file or ask for an unsupported column type
+     */
+    public CsvBatchReader(CsvReadOptions options, int batchRows) throws IOException {
+        if (batchRows <= 0) {
+            throw new IllegalArgumentException("batchRows must be positive: " + batchRows);
+        }
+        CsvFormat format = CsvFormat.of(options);
+        this.channel = FileChannel.open(MappedCsvReader.file(options).toPath(), StandardOpenOption.READ);
+        MappedCsvReader.CsvLayout layout;
+        try {
+            layout = MappedCsvReader.CsvLayout.read(channel, format, options);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.tableName = options.tableName();
+        this.columnNames = Collections.unmodifiableList(Arrays.asList(layout.names));
+
+        producer = new Thread(() -> produce(format, layout, batchRows), "csv-batch-prefetch");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * All column names in the file, including any skipped ones.
+     */
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (pending == null) {
+            try {
+                pending = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a batch", e);
+            }
+        }
+        if (pending.error != null) {
+            Throwable error = pending.error;
+            pending = Batch.END;
+            if (error instanceof IOException) {
+                throw new UncheckedIOException((IOException) error);
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            throw new IllegalStateException("Batch producer failed", error);
+        }
+        return pending != Batch.END;
+    }
+
+    @Override
+    public Table next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Table table = pending.table;
+        pending = null;
+        return table;
+    }
+
+    /**
+     * The remaining batches as an ordered, sequential stream; closing the
+     * stream closes the reader.
+     */
+    public Stream<Table> stream() {
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Stops the background thread and closes the file; safe to call before
+     * the last batch.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        producer.interrupt();
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ready.clear();
+        pending = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void produce(CsvFormat format, MappedCsvReader.CsvLayout layout, int batchRows) {
+        try {
+            RowSink[] sink = {new RowSink(format, layout.names, layout.types, layout.inferred, batchRows)};
+            long[] rowsBefore = {0};
+            MappedCsvReader.forEachRow(channel, layout.dataStart, format, WINDOW, (bytes, scanner, rowEnd) -> {
+                try {
+                    sink[0].accept(bytes, scanner);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("In the batch starting at data row " + (rowsBefore[0] + 1)
+                            + ": " + e.getMessage(), e);
+                }
+                if (sink[0].rows() < batchRows) {
+                    return true;
+                }
+                ColumnType[] types = sink[0].types();
+                if (!offer(new Batch(sink[0].toTable(tableName), null))) {
+                    return false;
+                }
+                rowsBefore[0] += sink[0].rows();
+                sink[0] = new RowSink(format, layout.names, types, layout.inferred, batchRows);
+                return true;
+            });
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (sink[0].rows() > 0) {
+                offer(new Batch(sink[0].toTable(tableName), null));
+            }
+            offer(Batch.END);
+        } catch (IOException | RuntimeException | Error e) {
+            if (!closed) {
+                offer(new Batch(null, e));
+            }
+        }
+    }
+
+    /**
+     * Waits until the consumer has taken the previous batch; false if the
+     * reader was closed meanwhile.
+     */
+    private boolean offer(Batch batch) {
+        try {
+            ready.put(batch);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class Batch {
+        static final Batch END = new Batch(null, null);
+
+        final Table table;
+        final Throwable error;
+
+        Batch(Table table, Throwable error) {
+            this.table = table;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.debopam.example.ai.io;
+
+import com.debopam.example.ai.conversion.TableSnapshot;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.io.csv.CsvReadOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * LEVEL 2: Measuring CSV Loading Performance
+ *
+ * Learning Objectives:
+ * - Compare Tablesaw's CSV reader with the byte-level readers in this package
+ * - Report throughput (MB/s, rows/s), which is what matters for big files
+ * - Check that a faster loader still produces the same table
+ * - Stream a file in fixed-size batches when it need not fit in memory
+ * - Skip type inference on repeat loads by saving the types once
+ * - Open a binary snapshot instead of parsing text again
+ *
+ * By default a CSV of {@code bench.rows} × {@code bench.cols} is generated in
+ * the temp directory: full-precision doubles, every fourth column an int,
+ * plus a categorical string column. To load a real file instead use
+ * {@code -Dbench.file=/data/big.csv}, e.g. a multi-GB export with
+ * {@code -Xmx32g -Dbench.runs=1 -Dbench.warmups=0}.
+ *
+ * The parallel sweep is set with e.g. {@code -Dbench.parallelism=1,8,32,64};
+ * levels above the core count only show the cost of oversubscription.
+ */
+public class CsvBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 1_000_000);
+    private static final int COLS = Integer.getInteger("bench.cols", 20);
+    private static final int WARMUPS = Integer.getInteger("bench.warmups", 1);
+    private static final int RUNS = Integer.getInteger("bench.runs", 3);
+    private static final String FILE = System.getProperty("bench.file");
+    private static final String PARALLELISM = System.getProperty("bench.parallelism", "1,4,16,64");
+    private static final int BATCH_ROWS = Integer.getInteger("bench.batch", 100_000);
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== CSV Loading Benchmark ===");
+
+        Path file;
+        boolean generated = FILE == null;
+        if (generated) {
+            file = Files.createTempFile("bench", ".csv");
+            createTable(ROWS, COLS, 42).write().csv(file.toFile());
+        } else {
+            file = Path.of(FILE);
+        }
+        System.out.printf("File: %s (%d MB), Warmups: %d, Runs: %d%n%n",
+                file, Files.size(file) >> 20, WARMUPS, RUNS);
+
+        try {
+            benchmark1_MappedReader(file);
+            benchmark2_ParallelReader(file);
+            benchmark3_StreamingBatches(file);
+            benchmark4_SchemaSidecar(file);
+            benchmark5_Snapshot(file);
+        } finally {
+            if (generated) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Benchmark 1: Table.read().csv vs the memory-mapped reader
+     *
+     * Tablesaw: Reader → String per cell → parse
+     * Mapped: bytes in place → double[] / int[] (one String per distinct string value)
+     */
+    private static void benchmark1_MappedReader(Path file) throws IOException {
+        System.out.println("--- Benchmark 1: Memory-Mapped Reader ---");
+        long bytes = Files.size(file);
+
+        double tablesaw = time("Table.read().csv", bytes, () -> unchecked(() -> Table.read().csv(file.toFile())));
+        double mapped = time("MappedCsvReader", bytes, () -> unchecked(() -> MappedCsvReader.read(file)));
+        System.out.printf("Speedup: %.1fx%n", tablesaw / mapped);
+
+        System.out.println("Results equal: " + sameValues(Table.read().csv(file.toFile()), MappedCsvReader.read(file)));
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 2: chunked parsing across threads
+     *
+     * Rows/s at each parallelism level, against the single-threaded mapped reader.
+     */
+    private static void benchmark2_ParallelReader(Path file) throws IOException {
+        System.out.println("--- Benchmark 2: Parallel Chunked Reader ---");
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        long bytes = Files.size(file);
+        Table expected = MappedCsvReader.read(file);
+        int rows = expected.rowCount();
+
+        double sequential = time("MappedCsvReader", bytes, () -> unchecked(() -> MappedCsvReader.read(file)));
+        System.out.printf("  %.2f M rows/s%n", rows / sequential / 1000);
+
+        boolean equal = true;
+        for (String level : PARALLELISM.split(",")) {
+            int parallelism = Integer.parseInt(level.trim());
+            try (ParallelCsvReader reader = new ParallelCsvReader(parallelism)) {
+                double parallel = time(parallelism + " threads", bytes, () -> unchecked(() -> reader.read(file)));
+                System.out.printf("  %.2f M rows/s, speedup at %d threads: %.1fx%n",
+                        rows / parallel / 1000, parallelism, sequential / parallel);
+                equal &= sameValues(expected, reader.read(file));
+            }
+        }
+        System.out.println("Results equal: " + equal);
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 3: aggregate over the whole file vs over streamed batches
+     *
+     * Full load: the whole table on the heap, then sum per group
+     * Batches: BATCH_ROWS rows at a time, partial sums merged, constant heap
+     */
+    private static void benchmark3_StreamingBatches(Path file) throws IOException {
+        System.out.println("--- Benchmark 3: Streaming Batches ---");
+        long bytes = Files.size(file);
+        String group = "region";
+        String value = "c0";
+
+        Map<String, Double> full = new TreeMap<>();
+        double loaded = time("MappedCsvReader + sum", bytes, () -> unchecked(() -> {
+            full.clear();
+            sumBy(MappedCsvReader.read(file), group, value, full);
+            return full;
+        }));
+
+        Map<String, Double> streamed = new TreeMap<>();
+        long[] batches = new long[1];
+        double streaming = time("CsvBatchReader (" + BATCH_ROWS + " rows)", bytes, () -> unchecked(() -> {
+            streamed.clear();
+            batches[0] = 0;
+            try (CsvBatchReader reader = new CsvBatchReader(file, BATCH_ROWS)) {
+                reader.forEachRemaining(batch -> {
+                    sumBy(batch, group, value, streamed);
+                    batches[0]++;
+                });
+            }
+            return streamed;
+        }));
+        System.out.printf("%d batches, time vs full load: %.2fx%n", batches[0], streaming / loaded);
+
+        boolean equal = full.keySet().equals(streamed.keySet());
+        for (String key : full.keySet()) {
+            equal &= Math.abs(full.get(key) - streamed.get(key)) <= 1e-9 * Math.max(1, Math.abs(full.get(key)));
+        }
+        System.out.println("Results equal: " + equal);
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 4: full-file type inference vs types saved in a sidecar
+     *
+     * sample(false): an inference pass over every row, then the parse
+     * Sidecar: the saved types as columnTypes, so only the parse
+     */
+    private static void benchmark4_SchemaSidecar(Path file) throws IOException {
+        System.out.println("--- Benchmark 4: Schema Sidecar ---");
+        long bytes = Files.size(file);
+        Path sidecar = CsvSchema.sidecar(file);
+        try {
+            double inferred = time("Table.read() sample(false)", bytes, () ->
+                    Table.read().usingOptions(CsvReadOptions.builder(file.toFile()).sample(false)));
+            CsvSchema.read(CsvReadOptions.builder(file.toFile()).sample(false));
+            System.out.println("Sidecar current: " + CsvSchema.isCurrent(CsvReadOptions.builder(file.toFile()).build()));
+            double saved = time("CsvSchema.read()", bytes, () ->
+                    unchecked(() -> CsvSchema.read(CsvReadOptions.builder(file.toFile()).sample(false))));
+            System.out.printf("Speedup: %.1fx%n", inferred / saved);
+
+            Table expected = Table.read().usingOptions(CsvReadOptions.builder(file.toFile()).sample(false));
+            Table actual = CsvSchema.read(CsvReadOptions.builder(file.toFile()).sample(false));
+            System.out.println("Results equal: " + (sameValues(expected, actual) && expected.types().equals(actual.types())));
+        } finally {
+            Files.deleteIfExists(sidecar);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Benchmark 5: parsing the CSV vs opening a columnar snapshot of it
+     *
+     * CSV: every byte parsed on every load
+     * Snapshot: numeric columns are views of the mapped file, string columns
+     * are rebuilt from their dictionaries; pages are read on first use
+     */
+    private static void benchmark5_Snapshot(Path file) throws IOException {
+        System.out.println("--- Benchmark 5: Columnar Snapshot ---");
+        Path snapshot = Files.createTempFile("bench", ".snap");
+        try {
+            Table expected = MappedCsvReader.read(file);
+            TableSnapshot.write(expected, snapshot);
+            System.out.printf("Snapshot: %d MB (CSV: %d MB)%n", Files.size(snapshot) >> 20, Files.size(file) >> 20);
+
+            double parsed = time("MappedCsvReader", Files.size(file), () -> unchecked(() -> MappedCsvReader.read(file)));
+            double opened = time("TableSnapshot.read", Files.size(snapshot), () -> unchecked(() -> TableSnapshot.read(snapshot)));
+            double scanned = time("TableSnapshot.read + sum", Files.size(snapshot), () -> unchecked(() -> {
+                Table table = TableSnapshot.read(snapshot);
+                double sum = 0;
+                for (int j = 0; j < table.columnCount(); j++) {
+                    if (table.column(j) instanceof NumericColumn) {
+                        sum += ((NumericColumn<?>) table.column(j)).sum();
+                    }
+                }
+                return sum;
+            }));
+            System.out.printf("Open speedup: %.1fx (%.1fx including a pass over every column)%n",
+                    parsed / opened, parsed / scanned);
+
+            System.out.println("Results equal: " + sameValues(expected, TableSnapshot.read(snapshot)));
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+        System.out.println();
+    }
+
+    private static void sumBy(Table table, String group, String value, Map<String, Double> sums) {
+        Column<?> keys = table.column(group);
+        NumericColumn<?> values = table.numberColumn(value);
+        for (int i = 0; i < table.rowCount(); i++) {
+            sums.merge(keys.getString(i), values.getDouble(i), Double::sum);
+        }
+    }
+
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private static <T> T unchecked(IOSupplier<T> action) {
+        try {
+            return action.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Helper: same names, row count and values (compared as doubles for
+     * numeric columns, as strings otherwise)
+     */
+    static boolean sameValues(Table expected, Table actual) {
+        if (!expected.columnNames().equals(actual.columnNames()) || expected.rowCount() != actual.rowCount()) {
+            return false;
+        }
+        for (int j = 0; j < expected.columnCount(); j++) {
+            Column<?> a = expected.column(j);
+            Column<?> b = actual.column(j);
+            for (int i = 0; i < expected.rowCount(); i++) {
+                boolean same = a instanceof NumericColumn && b instanceof NumericColumn
+                        ? Double.compare(((NumericColumn<?>) a).getDouble(i), ((NumericColumn<?>) b).getDouble(i)) == 0
+                        : a.getString(i).equals(b.getString(i));
+                if (!same) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper: numeric columns as in ConversionBenchmark, plus a string column
+     * with a few distinct values
+     */
+    static Table createTable(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        Table table = Table.create("bench");
+        for (int j = 0; j < cols; j++) {
+            if (j % 4 == 3) {
+                int[] values = new int[rows];
+                for (int i = 0; i < rows; i++) {
+                    values[i] = random.nextInt(1000);
+                }
+                table.addColumns(IntColumn.create("c" + j, values));
+            } else {
+                double[] values = new double[rows];
+                for (int i = 0; i < rows; i++) {
+                    values[i] = random.nextGaussian();
+                }
+                table.addColumns(DoubleColumn.create("c" + j, values));
+            }
+        }
+        String[] regions = {"north", "south", "east", "west", "central"};
+        String[] region = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            region[i] = regions[random.nextInt(regions.length)];
+        }
+        return table.addColumns(StringColumn.create("region", region));
+    }
+
+    /**
+     * Median time of RUNS runs after WARMUPS, with throughput over the file size
+     */
+    static double time(String label, long bytes, Supplier<?> task) {
+        for (int i = 0; i < WARMUPS; i++) {
+            task.get();
+        }
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            task.get();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        double median = millis[RUNS / 2];
+        System.out.printf("  %-28s median %9.1f ms   best %9.1f ms   %7.1f MB/s%n",
+                label, median, millis[0], (bytes / 1048576.0) / (median / 1000));
+        return median;
+    }
+}
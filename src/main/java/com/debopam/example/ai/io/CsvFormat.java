@@ -0,0 +1,93 @@
+package com.debopam.example.ai.io;
+
+import tech.tablesaw.io.TypeUtils;
+import tech.tablesaw.io.csv.CsvReadOptions;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The parts of {@link CsvReadOptions} the byte-level readers use, with the
+ * missing-value indicators pre-encoded so cells can be compared in place.
+ */
+final class CsvFormat {
+
+    final byte separator;
+    final byte quote;
+    final boolean header;
+    final boolean skipInvalidRows;
+    final Charset charset;
+    final String[] missingValueIndicators;
+    private final byte[][] missing;
+
+    private CsvFormat(char separator, char quote, boolean header, boolean skipInvalidRows,
+                      Charset charset, String[] missingValueIndicators) {
+        if (separator > 0x7f || quote > 0x7f) {
+            throw new IllegalArgumentException("Separator and quote must be ASCII characters");
+        }
+        if (",\n".getBytes(charset).length != 2) {
+            throw new IllegalArgumentException(charset + " is not ASCII-compatible; use Table.read() for this file");
+        }
+        this.separator = (byte) separator;
+        this.quote = (byte) quote;
+        this.header = header;
+        this.skipInvalidRows = skipInvalidRows;
+        this.charset = charset;
+        this.missingValueIndicators = missingValueIndicators;
+        this.missing = new byte[missingValueIndicators.length][];
+        for (int k = 0; k < missing.length; k++) {
+            missing[k] = missingValueIndicators[k].getBytes(charset);
+        }
+    }
+
+    /**
+     * Tablesaw's defaults where the options leave something unset: comma,
+     * double quote, and {@link TypeUtils#MISSING_INDICATORS}. An empty cell
+     * is always missing.
+     */
+    static CsvFormat of(CsvReadOptions options) {
+        Charset charset = options.source() != null && options.source().getCharset() != null
+                ? options.source().getCharset() : StandardCharsets.UTF_8;
+        String[] indicators = options.missingValueIndicators().length > 0
+                ? options.missingValueIndicators()
+                : TypeUtils.MISSING_INDICATORS.toArray(new String[0]);
+        Set<String> missing = new LinkedHashSet<>(List.of(indicators));
+        missing.remove("");
+        return new CsvFormat(
+                options.separator() != null ? options.separator() : ',',
+                options.quoteChar() != null ? options.quoteChar() : '"',
+                options.header(),
+                options.skipRowsWithInvalidColumnCount(),
+                charset,
+                missing.toArray(new String[0]));
+    }
+
+    /**
+     * True if {@code bytes[from, to)} is empty or a missing-value indicator.
+     */
+    boolean isMissing(ByteBuffer bytes, int from, int to) {
+        int length = to - from;
+        if (length == 0) {
+            return true;
+        }
+        for (byte[] indicator : missing) {
+            if (indicator.length == length && matches(indicator, bytes, from)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(byte[] indicator, ByteBuffer bytes, int from) {
+        for (int k = 0; k < indicator.length; k++) {
+            if (indicator[k] != bytes.get(from + k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
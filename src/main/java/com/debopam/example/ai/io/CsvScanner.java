@@ -0,0 +1,193 @@
+package com.debopam.example.ai.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Splits one CSV row into field ranges, in place.
+ *
+ * {@link #scanRow} records where each field starts and ends in the buffer
+ * (quotes excluded) and nothing else: no bytes are copied and no Strings are
+ * made. Callers then parse the ranges they need. Quoted fields may contain
+ * separators, line breaks and doubled quotes ({@code ""}); rows may end in
+ * {@code \n}, {@code \r\n} or {@code \r}.
+ */
+final class CsvScanner {
+
+    /** The row runs past the end of the range; rescan it with more data. */
+    static final int INCOMPLETE = -1;
+
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+    private static final long RETURNS = 0x0D0D0D0D0D0D0D0DL;
+
+    private static final int QUOTED = 1;
+    private static final int ESCAPED = 2;
+
+    private final byte separator;
+    private final byte quote;
+    private final long separators;
+
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int[] flags = new int[16];
+    private int fieldCount;
+    private byte[] unescaped = new byte[64];
+
+    CsvScanner(CsvFormat format) {
+        this.separator = format.separator;
+        this.quote = format.quote;
+        this.separators = 0x0101010101010101L * format.separator;
+    }
+
+    /**
+     * Scan the row starting at {@code pos}.
+     *
+     * @param last true if {@code to} is the end of the file, so an unterminated
+     *             last line is still a row
+     * @return the position after the row's line break, or {@link #INCOMPLETE}
+     * @throws IllegalArgumentException on a quote left open at the end of the file,
+     *                                  or text between a closing quote and the separator
+     */
+    int scanRow(ByteBuffer bytes, int pos, int to, boolean last) {
+        fieldCount = 0;
+        while (true) {
+            int start;
+            int end;
+            int flag = 0;
+            if (pos < to && bytes.get(pos) == quote) {
+                flag = QUOTED;
+                start = ++pos;
+                while (true) {
+                    if (pos >= to) {
+                        if (last) {
+                            throw new IllegalArgumentException("Unterminated quoted field starting at byte " + (start - 1));
+                        }
+                        return INCOMPLETE;
+                    }
+                    if (bytes.get(pos) == quote) {
+                        if (pos + 1 < to && bytes.get(pos + 1) == quote) {
+                            flag |= ESCAPED;
+                            pos += 2;
+                            continue;
+                        }
+                        if (pos + 1 >= to && !last) {
+                            return INCOMPLETE; // can't tell "" from a closing quote yet
+                        }
+                        end = pos++;
+                        break;
+                    }
+                    pos++;
+                }
+            } else {
+                start = pos;
+                // Eight bytes per step while no separator or line break is in sight
+                while (pos + 8 <= to) {
+                    long word = FastNumbers.littleEndianLong(bytes, pos);
+                    long found = matches(word, separators) | matches(word, NEWLINES) | matches(word, RETURNS);
+                    if (found != 0) {
+                        pos += Long.numberOfTrailingZeros(found) >>> 3;
+                        break;
+                    }
+                    pos += 8;
+                }
+                while (pos < to) {
+                    byte c = bytes.get(pos);
+                    if (c == separator || c == '\n' || c == '\r') {
+                        break;
+                    }
+                    pos++;
+                }
+                end = pos;
+            }
+            addField(start, end, flag);
+
+            if (pos >= to) {
+                return last ? pos : INCOMPLETE;
+            }
+            byte c = bytes.get(pos++);
+            if (c == separator) {
+                continue;
+            }
+            if (c == '\n') {
+                return pos;
+            }
+            if (c == '\r') {
+                if (pos < to) {
+                    return bytes.get(pos) == '\n' ? pos + 1 : pos;
+                }
+                return last ? pos : INCOMPLETE;
+            }
+            throw new IllegalArgumentException("Unexpected '" + (char) c + "' after closing quote at byte " + (pos - 1));
+        }
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    int start(int field) {
+        return starts[field];
+    }
+
+    int end(int field) {
+        return ends[field];
+    }
+
+    /**
+     * True for an empty line (one empty, unquoted field).
+     */
+    boolean isBlank() {
+        return fieldCount == 1 && starts[0] == ends[0] && flags[0] == 0;
+    }
+
+    /**
+     * True if the field contains doubled quotes, so its bytes are not its value;
+     * see {@link #unescape(ByteBuffer, int)}.
+     */
+    boolean isEscaped(int field) {
+        return (flags[field] & ESCAPED) != 0;
+    }
+
+    /**
+     * The field's value with {@code ""} collapsed to {@code "}, as a heap
+     * buffer from 0 to its limit. Reused by the next call.
+     */
+    ByteBuffer unescape(ByteBuffer bytes, int field) {
+        int from = starts[field];
+        int to = ends[field];
+        if (unescaped.length < to - from) {
+            unescaped = new byte[Math.max(to - from, unescaped.length * 2)];
+        }
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            byte c = bytes.get(i);
+            unescaped[n++] = c;
+            if (c == quote) {
+                i++;
+            }
+        }
+        return ByteBuffer.wrap(unescaped, 0, n).slice();
+    }
+
+    /**
+     * High bit set in each byte of {@code word} equal to the byte repeated in
+     * {@code pattern}. Bytes above the first match may be flagged wrongly
+     * (borrow), so only the lowest flag is meaningful.
+     */
+    private static long matches(long word, long pattern) {
+        long x = word ^ pattern;
+        return (x - 0x0101010101010101L) & ~x & 0x8080808080808080L;
+    }
+
+    private void addField(int start, int end, int flag) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+            flags = Arrays.copyOf(flags, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        flags[fieldCount] = flag;
+        fieldCount++;
+    }
+}
@@ -0,0 +1,290 @@
+package com.debopam.example.ai.io;
+
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.io.AddCellToColumnException;
+import tech.tablesaw.io.csv.CsvReadOptions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Column types of a CSV file, saved next to it so later loads skip inference
+ *
+ * Problem: without {@code columnTypes} every load infers the types first, and
+ * with {@code sample(false)} that is a full pass over the file before the
+ * real parse; for a file reloaded every day with the same layout, that pass
+ * finds the same answer each time.
+ * Solution: on the first load, infer as usual and write the result to a
+ * sidecar ({@code data.csv} → {@code data.csv.schema}): column names and
+ * types, separator, header flag, missing-value indicators, and a fingerprint
+ * of the header row. Later loads pass the saved types as {@code columnTypes},
+ * so there is no inference at all.
+ *
+ * Falling back: the sidecar is ignored, and rewritten after a normal load, if
+ * - the header row changed (columns added, removed, renamed or reordered)
+ * - the separator, header flag or missing-value indicators differ
+ * - a cell no longer fits its saved type (e.g. a decimal in an INTEGER column)
+ * The fingerprint covers the header row only, so new data with the same
+ * layout keeps using the sidecar. Options that already set
+ * {@code columnTypes} are loaded as given, without a sidecar.
+ *
+ * The sidecar is a properties file; delete it to force inference. Load a
+ * given file with one reader: a sidecar written after a Tablesaw load may
+ * hold types (dates, booleans) that MappedCsvReader cannot parse, and then
+ * each reader replaces the other's sidecar.
+ *
+ * Usage:
+ * <pre>
+ * Table data = CsvSchema.read(CsvReadOptions.builder("measurements.csv")
+ *         .missingValueIndicator("NA")
+ *         .sample(false));
+ *
+ * // Same, parsed by the memory-mapped reader
+ * Table mapped = CsvSchema.read(CsvReadOptions.builder("measurements.csv"), MappedCsvReader::read);
+ * </pre>
+ */
+public final class CsvSchema {
+
+    public static final String SUFFIX = ".schema";
+
+    private static final int VERSION = 1;
+
+    /**
+     * Reads a CSV file with the given options, e.g. {@code MappedCsvReader::read}.
+     */
+    public interface Loader {
+        Table read(CsvReadOptions options) throws IOException;
+    }
+
+    private CsvSchema() {
+    }
+
+    /**
+     * Load with Tablesaw's CSV reader.
+     *
+     * @param options builder for a file
+     */
+    public static Table read(CsvReadOptions.Builder options) throws IOException {
+        return read(options, typed -> Table.read().usingOptions(typed));
+    }
+
+    /**
+     * Load with the given reader, using the sidecar's types when it matches
+     * the file and writing a new one when it does not.
+     *
+     * @param options builder for a file; it is not modified
+     * @throws IllegalArgumentException if the options do not name a file
+     */
+    public static Table read(CsvReadOptions.Builder options, Loader loader) throws IOException {
+        CsvReadOptions plain = options.build();
+        if (plain.columnTypes() != null) {
+            return loader.read(plain);
+        }
+        Path file = MappedCsvReader.file(plain).toPath();
+        CsvFormat format = CsvFormat.of(plain);
+        String fingerprint = fingerprint(file, format);
+
+        Properties saved = load(sidecar(file));
+        ColumnType[] types = saved == null ? null : types(saved, format, fingerprint);
+        if (types != null) {
+            try {
+                return loader.read(withTypes(plain, types));
+            } catch (RuntimeException e) {
+                if (!isTypeMismatch(e)) {
+                    throw e;
+                }
+                // A cell no longer fits its saved type: infer again below
+            }
+        }
+        Table table = loader.read(plain);
+        save(sidecar(file), table, format, fingerprint);
+        return table;
+    }
+
+    /**
+     * A copy of {@code options} with the given column types. Tablesaw has no
+     * builder from built options, so every setting is carried over by hand.
+     */
+    private static CsvReadOptions withTypes(CsvReadOptions options, ColumnType[] types) {
+        CsvReadOptions.Builder builder = CsvReadOptions.builder(options.source())
+                .tableName(options.tableName())
+                .header(options.header())
+                .separator(options.separator())
+                .quoteChar(options.quoteChar())
+                .escapeChar(options.escapeChar())
+                .commentPrefix(options.commentPrefix())
+                .maxNumberOfColumns(options.maxNumberOfColumns())
+                .maxCharsPerColumn(options.maxCharsPerColumn())
+                .sample(options.sample())
+                .sampleSize(options.sampleSize())
+                .missingValueIndicator(options.missingValueIndicators())
+                .locale(options.locale())
+                .dateFormat(options.dateFormatter())
+                .timeFormat(options.timeFormatter())
+                .dateTimeFormat(options.dateTimeFormatter())
+                .allowDuplicateColumnNames(options.allowDuplicateColumnNames())
+                .columnTypesToDetect(options.columnTypesToDetect())
+                .ignoreZeroDecimal(options.ignoreZeroDecimal())
+                .skipRowsWithInvalidColumnCount(options.skipRowsWithInvalidColumnCount())
+                .columnTypes(types);
+        if (!options.lineSeparatorDetectionEnabled()) {
+            builder.lineEnding(options.lineEnding());
+        }
+        if (options.minimizeColumnSizes()) {
+            builder.minimizeColumnSizes();
+        }
+        return builder.build();
+    }
+
+    /**
+     * True if a cell did not parse as its column type, from Tablesaw's reader
+     * or ours; readers that split the file may wrap the error.
+     */
+    private static boolean isTypeMismatch(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof AddCellToColumnException || t instanceof CellTypeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if the file has a sidecar that the next load with these options
+     * would use.
+     */
+    public static boolean isCurrent(CsvReadOptions options) throws IOException {
+        Path file = MappedCsvReader.file(options).toPath();
+        CsvFormat format = CsvFormat.of(options);
+        Properties saved = load(sidecar(file));
+        return saved != null && types(saved, format, fingerprint(file, format)) != null;
+    }
+
+    public static Path sidecar(Path file) {
+        return file.resolveSibling(file.getFileName() + SUFFIX);
+    }
+
+    /**
+     * The saved types, or null if the sidecar was written for another header
+     * or other options.
+     */
+    private static ColumnType[] types(Properties saved, CsvFormat format, String fingerprint) {
+        if (!String.valueOf(VERSION).equals(saved.getProperty("version"))
+                || !fingerprint.equals(saved.getProperty("fingerprint"))
+                || !String.valueOf((char) format.separator).equals(saved.getProperty("separator"))
+                || !String.valueOf(format.header).equals(saved.getProperty("header"))
+                || !Arrays.equals(missing(format), missing(saved))) {
+            return null;
+        }
+        try {
+            int columns = Integer.parseInt(saved.getProperty("columns"));
+            ColumnType[] types = new ColumnType[columns];
+            for (int j = 0; j < columns; j++) {
+                types[j] = ColumnType.valueOf(saved.getProperty("column." + j + ".type"));
+            }
+            return types;
+        } catch (RuntimeException e) {
+            return null; // hand-edited or truncated
+        }
+    }
+
+    private static void save(Path sidecar, Table table, CsvFormat format, String fingerprint) throws IOException {
+        Properties schema = new Properties();
+        schema.setProperty("version", String.valueOf(VERSION));
+        schema.setProperty("fingerprint", fingerprint);
+        schema.setProperty("separator", String.valueOf((char) format.separator));
+        schema.setProperty("header", String.valueOf(format.header));
+        String[] missing = missing(format);
+        schema.setProperty("missing", String.valueOf(missing.length));
+        for (int k = 0; k < missing.length; k++) {
+            schema.setProperty("missing." + k, missing[k]);
+        }
+        schema.setProperty("columns", String.valueOf(table.columnCount()));
+        for (int j = 0; j < table.columnCount(); j++) {
+            schema.setProperty("column." + j + ".name", table.column(j).name());
+            schema.setProperty("column." + j + ".type", table.column(j).type().name());
+        }
+
+        // Write aside and move, so a crash never leaves half a sidecar
+        // (not createTempFile, which makes the file readable by its owner only)
+        Path temp = sidecar.resolveSibling(sidecar.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                schema.store(out, "Column types for " + table.name() + "; delete to infer again");
+            }
+            Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Properties load(Path sidecar) throws IOException {
+        Properties schema = new Properties();
+        try (Reader in = Files.newBufferedReader(sidecar, StandardCharsets.UTF_8)) {
+            schema.load(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IllegalArgumentException e) {
+            return null; // malformed escape
+        }
+        return schema;
+    }
+
+    /**
+     * Length and CRC-32 of the header row's bytes (or just the field count of
+     * the first row, for a file without a header).
+     */
+    private static String fingerprint(Path file, CsvFormat format) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            int length = (int) Math.min(64 * 1024, channel.size());
+            ByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            CsvScanner scanner = new CsvScanner(format);
+            int end = scanner.scanRow(head, 0, length, length == channel.size());
+            if (end == CsvScanner.INCOMPLETE) {
+                throw new IllegalArgumentException("The first row is longer than " + length + " bytes");
+            }
+            if (!format.header) {
+                return "columns:" + scanner.fieldCount();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(head.slice(0, end));
+            return "header:" + end + ":" + Long.toHexString(crc.getValue());
+        }
+    }
+
+    private static String[] missing(CsvFormat format) {
+        String[] indicators = format.missingValueIndicators.clone();
+        Arrays.sort(indicators);
+        return indicators;
+    }
+
+    private static String[] missing(Properties saved) {
+        try {
+            String[] indicators = new String[Integer.parseInt(saved.getProperty("missing"))];
+            for (int k = 0; k < indicators.length; k++) {
+                indicators[k] = saved.getProperty("missing." + k);
+            }
+            return indicators;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
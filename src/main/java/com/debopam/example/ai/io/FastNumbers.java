@@ -0,0 +1,327 @@
+package com.debopam.example.ai.io;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Number parsing straight from bytes, without building a String per cell.
+ *
+ * The fast paths cover what CSV exports contain almost exclusively: plain
+ * decimals and scientific notation with up to 18 significant digits, which
+ * includes every double printed at full precision. Anything else ("NaN",
+ * "Infinity", surrounding spaces, longer mantissas, subnormals) falls back to
+ * {@link Double#parseDouble}, so results always match the JDK.
+ */
+final class FastNumbers {
+
+    /**
+     * Returned by {@link #parseLong} for text that is not a 64-bit integer.
+     * It is also Tablesaw's missing value for longs, so it cannot be a real value.
+     */
+    static final long NOT_A_LONG = Long.MIN_VALUE;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int MIN_POWER_OF_FIVE = -342;
+    private static final int MAX_POWER_OF_FIVE = 308;
+    /** 5^q for q in [-342, 308] as normalized 128-bit values: {high, low} pairs. */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private FastNumbers() {
+    }
+
+    /**
+     * Parse {@code bytes[from, to)} as a double.
+     *
+     * Two exact paths, both correctly rounded:
+     * - Clinger: a mantissa of at most 2^53 and a power of ten up to 10^22 are
+     *   both exact doubles, so one multiplication or division is enough
+     * - Eisel-Lemire: otherwise, multiply the mantissa by a 128-bit
+     *   approximation of the power of ten and round the top bits
+     *
+     * @throws NumberFormatException if the text is not a number
+     */
+    static double parseDouble(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean exact = true;
+
+        for (; i < to; i++) {
+            if (significant <= 10 && i + 8 <= to) {
+                long word = littleEndianLong(bytes, i);
+                if (isEightDigits(word)) {
+                    long chunk = eightDigits(word);
+                    significant = mantissa == 0 ? digitCount(chunk) : significant + 8;
+                    mantissa = mantissa * 100_000_000 + chunk;
+                    digits = true;
+                    i += 7;
+                    continue;
+                }
+            }
+            int d = bytes.get(i) - '0';
+            if (d < 0 || d > 9) {
+                break;
+            }
+            digits = true;
+            if (significant < 18) {
+                mantissa = mantissa * 10 + d;
+                if (mantissa != 0) {
+                    significant++;
+                }
+            } else {
+                exponent++;
+                exact &= d == 0;
+            }
+        }
+        if (i < to && bytes.get(i) == '.') {
+            for (i++; i < to; i++) {
+                if (significant <= 10 && i + 8 <= to) {
+                    long word = littleEndianLong(bytes, i);
+                    if (isEightDigits(word)) {
+                        long chunk = eightDigits(word);
+                        significant = mantissa == 0 ? digitCount(chunk) : significant + 8;
+                        mantissa = mantissa * 100_000_000 + chunk;
+                        exponent -= 8;
+                        digits = true;
+                        i += 7;
+                        continue;
+                    }
+                }
+                int d = bytes.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                digits = true;
+                if (significant < 18) {
+                    mantissa = mantissa * 10 + d;
+                    exponent--;
+                    if (mantissa != 0) {
+                        significant++;
+                    }
+                } else {
+                    exact &= d == 0;
+                }
+            }
+        }
+        if (digits && i < to && (bytes.get(i) | 0x20) == 'e') {
+            int j = i + 1;
+            boolean negativeExponent = false;
+            if (j < to && (bytes.get(j) == '-' || bytes.get(j) == '+')) {
+                negativeExponent = bytes.get(j) == '-';
+                j++;
+            }
+            int e = 0;
+            int start = j;
+            for (; j < to && e < 100_000; j++) {
+                int d = bytes.get(j) - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                e = e * 10 + d;
+            }
+            if (j > start) {
+                exponent += negativeExponent ? -e : e;
+                i = j;
+            }
+        }
+
+        if (digits && exact && i == to) {
+            if (mantissa == 0) {
+                return negative ? -0.0 : 0.0;
+            }
+            if (mantissa <= 1L << 53 && exponent >= -22 && exponent <= 22) {
+                double value = exponent >= 0
+                        ? mantissa * POWERS_OF_TEN[exponent]
+                        : mantissa / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+            long bits = eiselLemire(mantissa, exponent);
+            if (bits >= 0) {
+                double value = Double.longBitsToDouble(bits);
+                return negative ? -value : value;
+            }
+        }
+        return Double.parseDouble(text(bytes, from, to));
+    }
+
+    /**
+     * Bits of the double nearest to {@code w * 10^q} (w &gt; 0), or -1 where
+     * the JDK should decide (exponent out of range, subnormal or overflow).
+     * After Lemire, "Number Parsing at a Gigabyte per Second" (2021), as in
+     * the fast_float library.
+     */
+    private static long eiselLemire(long w, int q) {
+        if (q < MIN_POWER_OF_FIVE || q > MAX_POWER_OF_FIVE) {
+            return -1;
+        }
+        int leadingZeros = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeros;
+        int index = 2 * (q - MIN_POWER_OF_FIVE);
+
+        // Top 64 bits of w * 5^q; the low power word only matters when the
+        // bits below the 55 we keep are all ones
+        long high = multiplyHighUnsigned(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = multiplyHighUnsigned(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 9;
+        long mantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - leadingZeros + 1023;
+        if (power2 <= 0) {
+            return -1;
+        }
+        // Exactly halfway between two doubles: round to even instead of up
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && mantissa << shift == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 1L << 53) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        if (power2 >= 0x7FF) {
+            return -1;
+        }
+        return (mantissa & ~(1L << 52)) | (long) power2 << 52;
+    }
+
+    /**
+     * Eight bytes starting at {@code i}, first byte lowest, whatever the buffer's order.
+     */
+    static long littleEndianLong(ByteBuffer bytes, int i) {
+        long word = bytes.getLong(i);
+        return bytes.order() == ByteOrder.LITTLE_ENDIAN ? word : Long.reverseBytes(word);
+    }
+
+    /**
+     * True if all eight bytes are ASCII digits (SWAR: every byte is 0x3_ and
+     * adding 6 does not carry it out of 0x3_).
+     */
+    private static boolean isEightDigits(long word) {
+        return ((word & 0xF0F0F0F0F0F0F0F0L)
+                | (((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L;
+    }
+
+    /**
+     * Value of eight ASCII digits, first byte most significant, in three
+     * multiply steps instead of eight.
+     */
+    private static long eightDigits(long word) {
+        long value = word - 0x3030303030303030L;
+        value = value * 10 + (value >>> 8);
+        return (((value & 0x000000FF000000FFL) * (100 + (1_000_000L << 32)))
+                + (((value >>> 16) & 0x000000FF000000FFL) * (1 + (10_000L << 32)))) >>> 32;
+    }
+
+    private static int digitCount(long value) {
+        int count = 0;
+        for (; value != 0; value /= 10) {
+            count++;
+        }
+        return count;
+    }
+
+    private static long multiplyHighUnsigned(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * Positive powers truncated to their top 128 bits; negative powers as a
+     * reciprocal rounded up, with extra precision below 5^-27 (the layout of
+     * fast_float's table, computed here instead of spelled out).
+     */
+    private static long[] powersOfFive() {
+        long[] table = new long[2 * (MAX_POWER_OF_FIVE - MIN_POWER_OF_FIVE + 1)];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_POWER_OF_FIVE; q <= MAX_POWER_OF_FIVE; q++) {
+            BigInteger value;
+            if (q >= 0) {
+                BigInteger power = five.pow(q);
+                int bits = power.bitLength();
+                value = bits <= 128 ? power.shiftLeft(128 - bits) : power.shiftRight(bits - 128);
+            } else {
+                BigInteger power = five.pow(-q);
+                int z = power.bitLength(); // smallest z with 2^z > 5^-q
+                if (q >= -27) {
+                    value = BigInteger.ONE.shiftLeft(z + 127).divide(power).add(BigInteger.ONE);
+                } else {
+                    value = BigInteger.ONE.shiftLeft(2 * z + 128).divide(power).add(BigInteger.ONE);
+                    value = value.shiftRight(Math.max(0, value.bitLength() - 128));
+                }
+            }
+            int index = 2 * (q - MIN_POWER_OF_FIVE);
+            table[index] = value.shiftRight(64).longValue();
+            table[index + 1] = value.longValue();
+        }
+        return table;
+    }
+
+    /**
+     * Parse {@code bytes[from, to)} as an optionally signed decimal integer,
+     * or return {@link #NOT_A_LONG} if it is not one (including on overflow).
+     */
+    static long parseLong(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+        if (i == to) {
+            return NOT_A_LONG;
+        }
+        // Accumulate negatively: Long.MIN_VALUE has no positive counterpart
+        long value = 0;
+        for (; i < to; i++) {
+            int d = bytes.get(i) - '0';
+            if (d < 0 || d > 9 || value < (Long.MIN_VALUE + d) / 10) {
+                return NOT_A_LONG;
+            }
+            value = value * 10 - d;
+        }
+        if (!negative) {
+            return value == Long.MIN_VALUE ? NOT_A_LONG : -value;
+        }
+        return value;
+    }
+
+    /**
+     * True if {@code bytes[from, to)} parses as a double.
+     */
+    static boolean isDouble(ByteBuffer bytes, int from, int to) {
+        try {
+            parseDouble(bytes, from, to);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    static String text(ByteBuffer bytes, int from, int to) {
+        byte[] copy = new byte[to - from];
+        bytes.get(from, copy);
+        return new String(copy, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,280 @@
+package com.debopam.example.ai.io;
+
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.io.csv.CsvReadOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CSV → Tablesaw straight from a memory-mapped file
+ *
+ * Problem: {@code Table.read().csv(...)} streams the file through a Reader,
+ * turns every cell into a String and then parses that String, so a numeric
+ * file of N cells costs N short-lived Strings on top of the parse itself.
+ * Solution: map the file ({@link FileChannel#map}) and work on the bytes
+ * where they are:
+ * - rows are split into field ranges in place ({@link CsvScanner})
+ * - numbers are parsed from those bytes into {@code double[]} / {@code int[]}
+ *   / {@code long[]} column buffers, which become the Tablesaw columns
+ * - string cells are looked up by their bytes, so each distinct value is
+ *   decoded into a String once
+ *
+ * Files larger than 2 GB are mapped in windows of {@value #WINDOW} bytes; a
+ * row that straddles two windows is rescanned at the start of the next one.
+ *
+ * Options: separator, quote, header, missing-value indicators, column types,
+ * sample / sampleSize, table name and skipRowsWithInvalidColumnCount are taken
+ * from {@link CsvReadOptions}. Types are inferred as INTEGER, LONG, DOUBLE or
+ * STRING (a sampled int column that later holds a decimal is widened, as a
+ * full scan would have typed it); dates, booleans and the like come out as
+ * STRING unless {@code columnTypes} says otherwise, and only DOUBLE, INTEGER,
+ * LONG, STRING and SKIP can be asked for. The encoding must be ASCII-compatible
+ * (UTF-8, ISO-8859-x, windows-125x).
+ *
+ * Usage:
+ * <pre>
+ * Table data = MappedCsvReader.read(Path.of("measurements.csv"));
+ *
+ * Table configured = MappedCsvReader.read(CsvReadOptions.builder("measurements.csv")
+ *         .missingValueIndicator("NA")
+ *         .build());
+ * </pre>
+ */
+public final class MappedCsvReader {
+
+    static final int WINDOW = 1 << 30;
+    static final int DEFAULT_SAMPLE_ROWS = 10_000;
+
+    private MappedCsvReader() {
+    }
+
+    public static Table read(Path file) throws IOException {
+        return read(CsvReadOptions.builder(file.toFile()).build());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the options do not name a file, ask for an
+     *                                  unsupported column type, or a row does not parse
+     */
+    public static Table read(CsvReadOptions options) throws IOException {
+        CsvFormat format = CsvFormat.of(options);
+        try (FileChannel channel = FileChannel.open(file(options).toPath(), StandardOpenOption.READ)) {
+            CsvLayout layout = CsvLayout.read(channel, format, options);
+            RowSink sink = new RowSink(format, layout.names, layout.types, layout.inferred, layout.estimatedRows);
+            forEachRow(channel, layout.dataStart, format, (bytes, scanner, rowEnd) -> {
+                sink.accept(bytes, scanner);
+                return true;
+            });
+            return sink.toTable(options.tableName());
+        }
+    }
+
+    static File file(CsvReadOptions options) {
+        File file = options.source() == null ? null : options.source().file();
+        if (file == null) {
+            throw new IllegalArgumentException("The memory-mapped readers need options built from a file");
+        }
+        return file;
+    }
+
+    /**
+     * Called for each non-blank row, with the scanner positioned on it.
+     */
+    interface RowHandler {
+        /**
+         * @param rowEnd file offset just past the row
+         * @return false to stop reading
+         */
+        boolean row(ByteBuffer bytes, CsvScanner scanner, long rowEnd);
+    }
+
+    /**
+     * Scan the file from {@code start} to the end (or until the handler says
+     * stop), one mapped window at a time.
+     */
+    static void forEachRow(FileChannel channel, long start, CsvFormat format, RowHandler handler) throws IOException {
+        forEachRow(channel, start, format, WINDOW, handler);
+    }
+
+    /**
+     * As above, mapping at most {@code window} bytes at a time; no row may be
+     * longer than that.
+     */
+    static void forEachRow(FileChannel channel, long start, CsvFormat format, int window, RowHandler handler)
+            throws IOException {
+        CsvScanner scanner = new CsvScanner(format);
+        long size = channel.size();
+        long position = start;
+        while (position < size) {
+            int length = (int) Math.min(window, size - position);
+            boolean last = position + length == size;
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int at = 0;
+            while (at < length) {
+                int next = scanner.scanRow(bytes, at, length, last);
+                if (next == CsvScanner.INCOMPLETE) {
+                    break;
+                }
+                if (!scanner.isBlank() && !handler.row(bytes, scanner, position + next)) {
+                    return;
+                }
+                at = next;
+            }
+            if (at == 0) {
+                throw new IllegalArgumentException("The row at byte " + position + " is longer than "
+                        + window + " bytes (or has an unbalanced quote)");
+            }
+            position += at;
+        }
+    }
+
+    /**
+     * Column names and types of a file, and where its data starts.
+     */
+    static final class CsvLayout {
+        final String[] names;
+        final ColumnType[] types;
+        final boolean inferred;
+        final long dataStart;
+        final int estimatedRows;
+
+        private CsvLayout(String[] names, ColumnType[] types, boolean inferred, long dataStart, int estimatedRows) {
+            this.names = names;
+            this.types = types;
+            this.inferred = inferred;
+            this.dataStart = dataStart;
+            this.estimatedRows = estimatedRows;
+        }
+
+        /**
+         * Read the header, then infer the types from a sample of rows (or from
+         * every row if {@code sample(false)}), unless the options give them.
+         * The sample also gives an estimate of the row count, so the column
+         * buffers are sized once instead of grown.
+         */
+        static CsvLayout read(FileChannel channel, CsvFormat format, CsvReadOptions options) throws IOException {
+            if (channel.size() == 0) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            int length = (int) Math.min(64 * 1024, channel.size());
+            ByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            int start = hasByteOrderMark(head) ? 3 : 0;
+
+            CsvScanner scanner = new CsvScanner(format);
+            int headerEnd = scanner.scanRow(head, start, length, length == channel.size());
+            if (headerEnd == CsvScanner.INCOMPLETE) {
+                throw new IllegalArgumentException("The first row is longer than " + length + " bytes");
+            }
+            String[] names = new String[scanner.fieldCount()];
+            for (int j = 0; j < names.length; j++) {
+                names[j] = format.header ? text(head, scanner, j, format) : "C" + j;
+            }
+            long dataStart = format.header ? headerEnd : start;
+
+            ColumnType[] given = options.columnTypes();
+            boolean infer = given == null;
+            int sampleRows = !infer ? 1_000
+                    : !options.sample() ? Integer.MAX_VALUE
+                    : options.sampleSize() > 0 ? options.sampleSize() : DEFAULT_SAMPLE_ROWS;
+
+            TypeSampler sampler = new TypeSampler(names.length, format, sampleRows, infer);
+            forEachRow(channel, dataStart, format, sampler);
+
+            long dataBytes = channel.size() - dataStart;
+            long estimate = sampler.rows == 0 ? 16
+                    : (long) (dataBytes * 1.05 * sampler.rows / Math.max(1, sampler.lastRowEnd - dataStart)) + 16;
+            return new CsvLayout(names, infer ? sampler.types() : given, infer, dataStart,
+                    (int) Math.min(estimate, Integer.MAX_VALUE - 8));
+        }
+
+        private static boolean hasByteOrderMark(ByteBuffer bytes) {
+            return bytes.limit() >= 3 && (bytes.get(0) & 0xff) == 0xef
+                    && (bytes.get(1) & 0xff) == 0xbb && (bytes.get(2) & 0xff) == 0xbf;
+        }
+
+        private static String text(ByteBuffer bytes, CsvScanner scanner, int field, CsvFormat format) {
+            ByteBuffer source = bytes;
+            int from = scanner.start(field);
+            int to = scanner.end(field);
+            if (scanner.isEscaped(field)) {
+                source = scanner.unescape(bytes, field);
+                from = 0;
+                to = source.limit();
+            }
+            byte[] copy = new byte[to - from];
+            source.get(from, copy);
+            return new String(copy, format.charset);
+        }
+    }
+
+    /**
+     * Narrowest of INTEGER, LONG, DOUBLE and STRING that holds every sampled
+     * cell of a column; STRING for a column with no values in the sample.
+     */
+    static final class TypeSampler implements RowHandler {
+        private static final ColumnType[] ORDER = {ColumnType.INTEGER, ColumnType.LONG, ColumnType.DOUBLE, ColumnType.STRING};
+
+        private final int[] rank;
+        private final boolean[] seen;
+        private final CsvFormat format;
+        private final int maxRows;
+        private final boolean classify;
+        int rows;
+        long lastRowEnd;
+
+        TypeSampler(int columns, CsvFormat format, int maxRows, boolean classify) {
+            this.rank = new int[columns];
+            this.seen = new boolean[columns];
+            this.format = format;
+            this.maxRows = maxRows;
+            this.classify = classify;
+        }
+
+        @Override
+        public boolean row(ByteBuffer bytes, CsvScanner scanner, long rowEnd) {
+            if (classify && scanner.fieldCount() == rank.length) {
+                for (int j = 0; j < rank.length; j++) {
+                    if (rank[j] < 3) {
+                        classify(j, bytes, scanner);
+                    }
+                }
+            }
+            rows++;
+            lastRowEnd = rowEnd;
+            return rows < maxRows;
+        }
+
+        private void classify(int j, ByteBuffer bytes, CsvScanner scanner) {
+            int from = scanner.start(j);
+            int to = scanner.end(j);
+            if (format.isMissing(bytes, from, to)) {
+                return;
+            }
+            seen[j] = true;
+            if (scanner.isEscaped(j)) {
+                rank[j] = 3;
+                return;
+            }
+            long value = FastNumbers.parseLong(bytes, from, to);
+            int kind = value == FastNumbers.NOT_A_LONG
+                    ? FastNumbers.isDouble(bytes, from, to) ? 2 : 3
+                    : value > Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? 0 : 1;
+            rank[j] = Math.max(rank[j], kind);
+        }
+
+        ColumnType[] types() {
+            ColumnType[] types = new ColumnType[rank.length];
+            for (int j = 0; j < types.length; j++) {
+                types[j] = seen[j] ? ORDER[rank[j]] : ColumnType.STRING;
+            }
+            return types;
+        }
+    }
+}
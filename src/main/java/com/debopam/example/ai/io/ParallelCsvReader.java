@@ -0,0 +1,235 @@
+package com.debopam.example.ai.io;
+
+import tech.tablesaw.api.Table;
+import tech.tablesaw.io.csv.CsvReadOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * {@link MappedCsvReader} with the file split into chunks parsed on all cores
+ *
+ * Problem: one thread parses at one core's speed, however many the box has.
+ * Solution: cut the file into byte ranges that start and end on row
+ * boundaries, parse each range into its own column buffers in parallel, then
+ * concatenate the buffers in file order.
+ *
+ * Finding row boundaries: a newline inside a quoted field is not one, and
+ * from the middle of a file there is no telling whether a quote opens or
+ * closes a field. So the split is done in three steps:
+ * 1. (parallel) count the quote characters in each raw, evenly sized chunk
+ * 2. (sequential) the running count says whether each chunk starts inside a
+ *    quoted field; move each split point forward to the first newline that
+ *    is outside quotes
+ * 3. (parallel) parse the resulting ranges
+ * This assumes quotes only appear around fields, with {@code ""} for a quote
+ * inside one (RFC 4180).
+ *
+ * Types are inferred once, up front, from the same sample as the sequential
+ * reader; a chunk that widens a column widens it for the whole table.
+ * The chunks' buffers are concatenated column by column and released as they
+ * go, so the peak is the parsed data plus one column.
+ *
+ * The work runs on a private ForkJoinPool, as in ParallelConverter, so the
+ * parallelism is explicit; close the reader to shut it down.
+ *
+ * Usage:
+ * <pre>
+ * try (ParallelCsvReader reader = new ParallelCsvReader(16)) {
+ *     Table data = reader.read(Path.of("measurements.csv"));
+ * }
+ * </pre>
+ */
+public final class ParallelCsvReader implements AutoCloseable {
+
+    /** Chunks per worker, so a slow chunk does not leave the other cores idle. */
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MIN_CHUNK = 1 << 20;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * One worker per available processor.
+     */
+    public ParallelCsvReader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelCsvReader(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism, ParallelCsvReader::newWorker, null, false);
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    public Table read(Path file) throws IOException {
+        return read(CsvReadOptions.builder(file.toFile()).build());
+    }
+
+    /**
+     * Same options and result as {@link MappedCsvReader#read(CsvReadOptions)}.
+     */
+    public Table read(CsvReadOptions options) throws IOException {
+        CsvFormat format = CsvFormat.of(options);
+        try (FileChannel channel = FileChannel.open(MappedCsvReader.file(options).toPath(), StandardOpenOption.READ)) {
+            MappedCsvReader.CsvLayout layout = MappedCsvReader.CsvLayout.read(channel, format, options);
+            long[] bounds = rowAlignedChunks(channel, layout.dataStart, format);
+            int chunks = bounds.length - 1;
+
+            RowSink[] sinks = new RowSink[chunks];
+            long dataBytes = channel.size() - layout.dataStart;
+            forEachChunk(chunks, k -> {
+                long length = bounds[k + 1] - bounds[k];
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8,
+                        (long) layout.estimatedRows * length / Math.max(1, dataBytes) + 16);
+                sinks[k] = new RowSink(format, layout.names, layout.types, layout.inferred, capacity);
+                try {
+                    parse(channel, bounds[k], bounds[k + 1], format, sinks[k]);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("In the chunk starting at byte " + bounds[k] + ": "
+                            + e.getMessage(), e);
+                }
+            });
+            return RowSink.concat(options.tableName(), Arrays.asList(sinks));
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Byte offsets {@code dataStart = b0 < b1 < ... < bn = size}, each the
+     * start of a row.
+     */
+    private long[] rowAlignedChunks(FileChannel channel, long dataStart, CsvFormat format) throws IOException {
+        long size = channel.size();
+        long dataBytes = size - dataStart;
+        long target = Math.max(MIN_CHUNK, dataBytes / ((long) parallelism() * CHUNKS_PER_THREAD) + 1);
+        int chunks = (int) Math.max(1, (dataBytes + target - 1) / target);
+        if (target > MappedCsvReader.WINDOW) {
+            target = MappedCsvReader.WINDOW;
+            chunks = (int) ((dataBytes + target - 1) / target);
+        }
+        long chunkSize = target;
+
+        long[] quotes = new long[chunks];
+        forEachChunk(chunks, k -> {
+            long from = dataStart + k * chunkSize;
+            long to = Math.min(size, from + chunkSize);
+            quotes[k] = countQuotes(map(channel, from, to), format.quote);
+        });
+
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = dataStart;
+        bounds[chunks] = size;
+        long quotesBefore = 0;
+        for (int k = 1; k < chunks; k++) {
+            quotesBefore += quotes[k - 1];
+            long rawStart = dataStart + k * chunkSize;
+            long start = Math.max(bounds[k - 1], nextRowStart(channel, rawStart, (quotesBefore & 1) != 0, format.quote));
+            bounds[k] = start;
+        }
+        return bounds;
+    }
+
+    /**
+     * First offset at or after {@code from} that follows a newline outside
+     * quotes, or the file size if there is none.
+     */
+    private static long nextRowStart(FileChannel channel, long from, boolean inQuotes, byte quote) throws IOException {
+        long size = channel.size();
+        for (long position = from; position < size; position += MIN_CHUNK) {
+            ByteBuffer bytes = map(channel, position, Math.min(size, position + MIN_CHUNK));
+            for (int i = 0; i < bytes.limit(); i++) {
+                byte c = bytes.get(i);
+                if (c == quote) {
+                    inQuotes = !inQuotes;
+                } else if (c == '\n' && !inQuotes) {
+                    return position + i + 1;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Quote characters in the buffer, eight bytes per step.
+     */
+    static long countQuotes(ByteBuffer bytes, byte quote) {
+        long pattern = 0x0101010101010101L * quote;
+        long count = 0;
+        int i = 0;
+        for (int end = bytes.limit() - 7; i < end; i += 8) {
+            long x = bytes.getLong(i) ^ pattern;
+            // High bit of each byte set exactly where x has a zero byte (no borrow between bytes)
+            long zeros = ~(((x & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL) | x | 0x7F7F7F7F7F7F7F7FL);
+            count += Long.bitCount(zeros);
+        }
+        for (; i < bytes.limit(); i++) {
+            if (bytes.get(i) == quote) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void parse(FileChannel channel, long from, long to, CsvFormat format, RowSink sink) {
+        if (to - from > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("No row boundary for " + (to - from) + " bytes (unbalanced quote?)");
+        }
+        MappedByteBuffer bytes = map(channel, from, to);
+        CsvScanner scanner = new CsvScanner(format);
+        int length = (int) (to - from);
+        int at = 0;
+        while (at < length) {
+            int next = scanner.scanRow(bytes, at, length, true);
+            if (!scanner.isBlank()) {
+                sink.accept(bytes, scanner);
+            }
+            at = next;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void forEachChunk(int chunks, IntConsumer task) {
+        try {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(task)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during parallel read", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("csv-worker-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,139 @@
+package com.debopam.example.ai.io;
+
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.Table;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses scanned rows into one {@link ColumnBuffer} per column.
+ *
+ * Columns whose type was inferred from a sample are widened in place when a
+ * later cell does not fit (int → long → double), the way a full-file
+ * inference would have typed them. Columns with a type the caller asked for
+ * are not: a cell that does not fit is an error.
+ */
+final class RowSink {
+
+    private final CsvFormat format;
+    private final String[] names;
+    private final ColumnBuffer[] columns;
+    private final boolean[] widenable;
+    private long rows;
+
+    /**
+     * @param types    one per column; {@code ColumnType.SKIP} drops the column
+     * @param inferred true if the types came from a sample and may be widened
+     * @param capacity expected number of rows
+     */
+    RowSink(CsvFormat format, String[] names, ColumnType[] types, boolean inferred, int capacity) {
+        if (types.length != names.length) {
+            throw new IllegalArgumentException(types.length + " column types given for " + names.length + " columns");
+        }
+        this.format = format;
+        this.names = names;
+        this.columns = new ColumnBuffer[names.length];
+        this.widenable = new boolean[names.length];
+        for (int j = 0; j < names.length; j++) {
+            if (types[j] != ColumnType.SKIP) {
+                columns[j] = ColumnBuffer.create(types[j], names[j], capacity, format.charset);
+                widenable[j] = inferred;
+            }
+        }
+    }
+
+    /**
+     * Append the row the scanner has just scanned.
+     *
+     * @throws IllegalArgumentException if it has the wrong number of fields
+     *                                  (unless such rows are skipped) or a cell does not fit its column
+     */
+    void accept(ByteBuffer bytes, CsvScanner scanner) {
+        if (scanner.fieldCount() != columns.length) {
+            if (format.skipInvalidRows) {
+                return;
+            }
+            throw new IllegalArgumentException("Row " + (rows + 1) + " has " + scanner.fieldCount()
+                    + " fields, expected " + columns.length);
+        }
+        for (int j = 0; j < columns.length; j++) {
+            ColumnBuffer column = columns[j];
+            if (column == null) {
+                continue;
+            }
+            ByteBuffer source = bytes;
+            int from = scanner.start(j);
+            int to = scanner.end(j);
+            if (scanner.isEscaped(j)) {
+                source = scanner.unescape(bytes, j);
+                from = 0;
+                to = source.limit();
+            }
+            if (format.isMissing(source, from, to)) {
+                column.appendMissing();
+            } else if (!column.append(source, from, to)) {
+                appendWidened(j, source, from, to);
+            }
+        }
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * The current column types, including any widening so far;
+     * {@code ColumnType.SKIP} for dropped columns.
+     */
+    ColumnType[] types() {
+        ColumnType[] types = new ColumnType[columns.length];
+        for (int j = 0; j < columns.length; j++) {
+            types[j] = columns[j] == null ? ColumnType.SKIP : columns[j].type();
+        }
+        return types;
+    }
+
+    Table toTable(String tableName) {
+        Table table = Table.create(tableName);
+        for (ColumnBuffer column : columns) {
+            if (column != null) {
+                table.addColumns(column.toColumn());
+            }
+        }
+        return table;
+    }
+
+    /**
+     * The parts' rows in order, as one table. Each column's buffers are
+     * released once they are copied, so the peak is the parts plus one column.
+     */
+    static Table concat(String tableName, List<RowSink> parts) {
+        Table table = Table.create(tableName);
+        int columns = parts.get(0).columns.length;
+        for (int j = 0; j < columns; j++) {
+            if (parts.get(0).columns[j] == null) {
+                continue;
+            }
+            List<ColumnBuffer> buffers = new ArrayList<>(parts.size());
+            for (RowSink part : parts) {
+                buffers.add(part.columns[j]);
+                part.columns[j] = null;
+            }
+            table.addColumns(ColumnBuffer.concat(buffers).toColumn());
+        }
+        return table;
+    }
+
+    private void appendWidened(int j, ByteBuffer bytes, int from, int to) {
+        ColumnBuffer wider = widenable[j] ? columns[j].widenFor(bytes, from, to) : null;
+        if (wider == null || !wider.append(bytes, from, to)) {
+            throw new CellTypeException("Row " + (rows + 1) + ", column '" + names[j] + "': '"
+                    + FastNumbers.text(bytes, from, to) + "' is not a " + columns[j].type().name()
+                    + (widenable[j] ? "; pass columnTypes or sample(false)" : ""));
+        }
+        columns[j] = wider;
+    }
+}
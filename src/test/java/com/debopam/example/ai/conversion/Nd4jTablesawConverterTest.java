@@ -0,0 +1,105 @@
+package com.debopam.example.ai.conversion;
+
+import org.junit.jupiter.api.Test;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.Table;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tablesaw → ND4j → Tablesaw must give back the same values.
+ */
+class Nd4jTablesawConverterTest {
+
+    private static final String[] NAMES = {"double", "float", "int", "long", "short"};
+
+    @Test
+    void roundTripsEveryPrimitiveTypeAsDoubles() {
+        Table table = primitives();
+
+        Table back = roundTrip(table, DataType.DOUBLE);
+
+        for (int j = 0; j < table.columnCount(); j++) {
+            assertEquals(ColumnType.DOUBLE, back.column(j).type());
+            assertArrayEquals(table.numberColumn(j).asDoubleArray(), back.doubleColumn(j).asDoubleArray(), NAMES[j]);
+        }
+    }
+
+    @Test
+    void roundTripsFloatMatricesAsFloatColumns() {
+        Table table = primitives();
+
+        Table back = roundTrip(table, DataType.FLOAT);
+
+        for (int j = 0; j < table.columnCount(); j++) {
+            assertEquals(ColumnType.FLOAT, back.column(j).type());
+            float[] expected = new float[table.rowCount()];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = (float) table.numberColumn(j).getDouble(i);
+            }
+            assertArrayEquals(expected, back.floatColumn(j).asFloatArray(), NAMES[j]);
+        }
+    }
+
+    @Test
+    void roundTripsMissingValuesAsNaN() {
+        Table table = primitives();
+        for (int j = 0; j < table.columnCount(); j++) {
+            table.column(j).setMissing(2);
+        }
+
+        for (DataType type : new DataType[]{DataType.DOUBLE, DataType.FLOAT}) {
+            Table back = roundTrip(table, type);
+            for (int j = 0; j < back.columnCount(); j++) {
+                assertEquals(1, back.column(j).countMissing(), type + " " + NAMES[j]);
+                assertEquals(true, back.column(j).isMissing(2), type + " " + NAMES[j]);
+            }
+        }
+    }
+
+    @Test
+    void readsRowMajorAndViewMatrices() {
+        INDArray rowMajor = Nd4j.create(new double[][]{{1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+        INDArray view = rowMajor.get(NDArrayIndex.interval(1, 3), NDArrayIndex.interval(0, 2, 3));
+
+        Table back = Nd4jTablesawConverter.toTable(view, new String[]{"a", "c"}, "view");
+
+        assertArrayEquals(new double[]{4, 7}, back.doubleColumn("a").asDoubleArray());
+        assertArrayEquals(new double[]{6, 9}, back.doubleColumn("c").asDoubleArray());
+    }
+
+    @Test
+    void rejectsMismatchedNames() {
+        INDArray matrix = Nd4j.zeros(DataType.DOUBLE, 2, 3);
+        assertThrows(IllegalArgumentException.class,
+                () -> Nd4jTablesawConverter.toTable(matrix, new String[]{"a", "b"}, "t"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Nd4jTablesawConverter.toTable(Nd4j.zeros(DataType.DOUBLE, 3), new String[]{"a"}, "t"));
+    }
+
+    private static Table primitives() {
+        return Table.create("primitives",
+                DoubleColumn.create(NAMES[0], 1.5, -2.25, 0.1, 1e300),
+                FloatColumn.create(NAMES[1], 1.5f, -2.25f, 0.1f, Float.MAX_VALUE),
+                IntColumn.create(NAMES[2], 1, -2, 0, Integer.MAX_VALUE),
+                LongColumn.create(NAMES[3], 1L, -2L, 0L, 1L << 40),
+                ShortColumn.create(NAMES[4], (short) 1, (short) -2, (short) 0, Short.MAX_VALUE));
+    }
+
+    private static Table roundTrip(Table table, DataType type) {
+        INDArray matrix = TablesawNd4jConverter.toMatrix(table, type);
+        String[] names = table.columnNames().toArray(new String[0]);
+        return Nd4jTablesawConverter.toTable(matrix, names, table.name());
+    }
+}
@@ -0,0 +1,136 @@
+package com.debopam.example.ai.conversion;
+
+import org.junit.jupiter.api.Test;
+import smile.data.DataFrame;
+import smile.data.measure.NominalScale;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.ByteVector;
+import smile.data.vector.IntVector;
+import smile.data.vector.ObjectVector;
+import smile.data.vector.ValueVector;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tablesaw → Smile → Tablesaw must give back the same table.
+ */
+class SmileTablesawConverterTest {
+
+    @Test
+    void roundTripsEveryPrimitiveType() {
+        Table table = Table.create("primitives",
+                DoubleColumn.create("double", 1.5, -2.25, 0.0, Double.MAX_VALUE),
+                FloatColumn.create("float", 1.5f, -2.25f, 0.0f, Float.MIN_VALUE),
+                IntColumn.create("int", 1, -2, 0, Integer.MAX_VALUE),
+                LongColumn.create("long", 1L, -2L, 0L, Long.MAX_VALUE),
+                ShortColumn.create("short", (short) 1, (short) -2, (short) 0, Short.MAX_VALUE),
+                BooleanColumn.create("boolean", true, false, false, true));
+
+        assertSameTable(table, roundTrip(table));
+    }
+
+    @Test
+    void roundTripsMissingValues() {
+        DoubleColumn doubles = DoubleColumn.create("double", 1.5, -2.25, 3.0);
+        FloatColumn floats = FloatColumn.create("float", 1.5f, -2.25f, 3.0f);
+        IntColumn ints = IntColumn.create("int", 1, -2, 3);
+        LongColumn longs = LongColumn.create("long", 1L, -2L, 3L);
+        ShortColumn shorts = ShortColumn.create("short", (short) 1, (short) -2, (short) 3);
+        BooleanColumn booleans = BooleanColumn.create("boolean", true, false, true);
+        StringColumn strings = StringColumn.create("string", "a", "b", "a");
+        Table table = Table.create("missing", doubles, floats, ints, longs, shorts, booleans, strings);
+        for (Column<?> col : table.columns()) {
+            col.setMissing(1);
+        }
+
+        Table back = roundTrip(table);
+
+        assertSameTable(table, back);
+        for (Column<?> col : back.columns()) {
+            assertEquals(1, col.countMissing(), col.name());
+            assertEquals(true, col.isMissing(1), col.name());
+        }
+    }
+
+    @Test
+    void nominalVectorBecomesStringColumn() {
+        StringColumn species = StringColumn.create("species", "setosa", "virginica", "setosa", "versicolor");
+        Table table = Table.create("iris", species);
+
+        DataFrame df = TablesawSmileConverter.toDataFrame(table);
+        assertInstanceOf(NominalScale.class, df.column(0).measure());
+
+        Column<?> back = SmileTablesawConverter.toColumn(df.column(0));
+        assertInstanceOf(StringColumn.class, back);
+        assertArrayEquals(species.asObjectArray(), back.asObjectArray());
+    }
+
+    @Test
+    void smileNominalVectorsBecomeStringColumns() {
+        ValueVector nominal = ValueVector.nominal("d", "a", "b", "a");
+        assertInstanceOf(ByteVector.class, nominal);
+
+        Column<?> back = SmileTablesawConverter.toColumn(nominal);
+        assertInstanceOf(StringColumn.class, back);
+        assertEquals("d", back.name());
+        assertArrayEquals(new Object[]{"a", "b", "a"}, back.asObjectArray());
+    }
+
+    @Test
+    void byteVectorsBecomeShortColumns() {
+        Column<?> plain = SmileTablesawConverter.toColumn(ValueVector.of("b", (byte) 1, (byte) -2, Byte.MAX_VALUE));
+        assertInstanceOf(ShortColumn.class, plain);
+        assertArrayEquals(new short[]{1, -2, Byte.MAX_VALUE}, ((ShortColumn) plain).asShortArray());
+
+        Column<?> nullable = SmileTablesawConverter.toColumn(ValueVector.ofNullable("b", (byte) 1, null, (byte) 3));
+        assertInstanceOf(ShortColumn.class, nullable);
+        assertEquals(1, nullable.countMissing());
+        assertEquals(true, nullable.isMissing(1));
+    }
+
+    @Test
+    void nominalCodesOutsideTheScaleFallBackToTheScale() {
+        NominalScale scale = new NominalScale(new int[]{10, 1000}, new String[]{"low", "high"});
+        IntVector codes = new IntVector(new StructField("level", DataTypes.IntType, scale), new int[]{1000, 10, 1000});
+
+        Column<?> back = SmileTablesawConverter.toColumn(codes);
+        assertArrayEquals(new Object[]{"high", "low", "high"}, back.asObjectArray());
+    }
+
+    @Test
+    void rejectsVectorsWithoutAMapping() {
+        ObjectVector<int[]> arrays = ObjectVector.of("arrays", new int[]{1, 2});
+        assertThrows(IllegalArgumentException.class, () -> SmileTablesawConverter.toColumn(arrays));
+    }
+
+    private static Table roundTrip(Table table) {
+        DataFrame df = TablesawSmileConverter.toDataFrame(table);
+        return SmileTablesawConverter.toTable(df, table.name());
+    }
+
+    private static void assertSameTable(Table expected, Table actual) {
+        assertEquals(expected.name(), actual.name());
+        assertEquals(expected.columnCount(), actual.columnCount());
+        assertEquals(expected.rowCount(), actual.rowCount());
+        for (int j = 0; j < expected.columnCount(); j++) {
+            Column<?> want = expected.column(j);
+            Column<?> got = actual.column(j);
+            assertEquals(want.name(), got.name());
+            assertEquals(want.type(), got.type(), want.name());
+            assertArrayEquals(want.asObjectArray(), got.asObjectArray(), want.name());
+        }
+    }
+}